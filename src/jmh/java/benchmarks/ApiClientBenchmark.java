@@ -0,0 +1,131 @@
+package benchmarks;
+
+import api_tests.client.ApiClient;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Стоимость клиентской стороны ApiClient: полный вызов каждого метода против {@link NullServer},
+ * отдельно подготовка запроса ApiClient (шаблон и фильтры без отправки), и базовая линия на голом
+ * java.net.http.HttpClient.
+ * Разница между вызовом метода и базовой линией - накладные расходы тестового harness.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dallure.results.directory=target/jmh-allure-results")
+public class ApiClientBenchmark {
+
+    private static final String API_KEY = "qazWSXedc";
+    private static final String TOKEN = "AAAABBBBCCCCDDDDEEEEFFFF12345678";
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        NullServer nullServer;
+        String url;
+        HttpClient httpClient;
+        HttpRequest rawRequest;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            nullServer = new NullServer();
+            url = nullServer.getUrl();
+            httpClient = HttpClient.newHttpClient();
+            rawRequest = HttpRequest.newBuilder(URI.create(url + Endpoints.BASE_ENDPOINT))
+                    .header(Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED)
+                    .header(Headers.API_KEY, API_KEY)
+                    .header(Headers.ACCEPT, Headers.APPLICATION_JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            RequestParams.TOKEN + "=" + TOKEN + "&" + RequestParams.ACTION + "=" + Actions.LOGIN))
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            httpClient.close();
+            nullServer.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        ApiClient apiClient;
+        Map<String, String> headers;
+        String testUuid;
+
+        @Setup(Level.Trial)
+        public void create(Server server) {
+            apiClient = new ApiClient(server.url, API_KEY, TOKEN);
+            headers = Map.of(
+                    Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED,
+                    Headers.API_KEY, API_KEY,
+                    Headers.ACCEPT, Headers.APPLICATION_JSON);
+            testUuid = UUID.randomUUID().toString();
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            lifecycle.scheduleTestCase(new TestResult().setUuid(testUuid).setName("ApiClientBenchmark"));
+            lifecycle.startTestCase(testUuid);
+        }
+
+        @TearDown(Level.Trial)
+        public void finish() {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            lifecycle.stopTestCase(testUuid);
+            lifecycle.writeTestCase(testUuid);
+        }
+    }
+
+    @Benchmark
+    public Object sendPostRequest(Client client) {
+        return client.apiClient.sendPostRequest(Actions.LOGIN);
+    }
+
+    @Benchmark
+    public Object sendRequest(Client client) {
+        return client.apiClient.sendRequest("PUT", Actions.LOGIN);
+    }
+
+    @Benchmark
+    public Object sendPostRequestToUrl(Server server, Client client) {
+        return client.apiClient.sendPostRequestToUrl(server.url, Actions.LOGIN);
+    }
+
+    @Benchmark
+    public Object sendPostRequestWithHeaders(Client client) {
+        return client.apiClient.sendPostRequestWithHeaders(Actions.LOGIN, client.headers);
+    }
+
+    @Benchmark
+    public Object sendPostRequestWithBodyParams(Client client) {
+        return client.apiClient.sendPostRequestWithBodyParams(TOKEN, Actions.LOGIN);
+    }
+
+    @Benchmark
+    public Object sendPostRequestToUrlWithHeaders(Server server, Client client) {
+        return client.apiClient.sendPostRequestToUrlWithHeaders(server.url, Actions.LOGIN, client.headers);
+    }
+
+    @Benchmark
+    public RequestSpecification prepareRequest(Client client) {
+        return client.apiClient.prepareRequest(Actions.LOGIN);
+    }
+
+    @Benchmark
+    public Object rawHttpClientBaseline(Server server) throws IOException, InterruptedException {
+        return server.httpClient.send(server.rawRequest, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * HTTP-сервер внутри процесса, который отвечает 200 {"result":"OK"} на любой запрос без какой-либо логики,
+ * чтобы в замерах оставалась только стоимость клиентской стороны.
+ */
+public class NullServer implements AutoCloseable {
+
+    private static final byte[] OK_BODY = "{\"result\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public NullServer() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", NullServer::respond);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().set(Headers.CONTENT_TYPE, Headers.APPLICATION_JSON);
+        exchange.sendResponseHeaders(StatusCodes.OK, OK_BODY.length);
+        try (OutputStream response = exchange.getResponseBody()) {
+            response.write(OK_BODY);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import api_tests.data.TokenCorpus;
+import api_tests.data.TokenGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость генерации токена {@link TokenCorpus}: запись в буфер, тело формы целиком и строка,
+ * для сравнения - {@link TokenGenerator#validToken()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenCorpusBenchmark {
+
+    private static final byte[] ACTION = "LOGIN".getBytes(StandardCharsets.US_ASCII);
+
+    private final TokenCorpus corpus = new TokenCorpus(42);
+    private final byte[] token = new byte[TokenCorpus.MAX_TOKEN_LENGTH];
+    private final byte[] formBody = new byte[TokenCorpus.maxFormBodyLength(ACTION.length)];
+    private long index;
+
+    @Benchmark
+    public int fillValid() {
+        return corpus.fill(TokenCorpus.Category.VALID, index++, token, 0);
+    }
+
+    @Benchmark
+    public int fillFormBody() {
+        return corpus.fillFormBody(TokenCorpus.Category.VALID, index++, ACTION, formBody);
+    }
+
+    @Benchmark
+    public String validTokenString() {
+        return corpus.token(TokenCorpus.Category.VALID, index++);
+    }
+
+    @Benchmark
+    public String tokenGeneratorBaseline() {
+        return TokenGenerator.validToken();
+    }
+}
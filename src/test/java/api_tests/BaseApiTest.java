@@ -1,11 +1,16 @@
 package api_tests;
+import api_tests.reporting.AllureAttachmentExtension;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import configs.JfrRecordingExtension;
+import configs.ReferenceServerExtension;
+import configs.ServiceProcessExtension;
 import configs.WireMockConfig;
 import configs.WireMockExtension;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.extension.ExtendWith;
 
-@ExtendWith(WireMockExtension.class)
+@ExtendWith({WireMockExtension.class, ReferenceServerExtension.class, ServiceProcessExtension.class,
+        AllureAttachmentExtension.class, JfrRecordingExtension.class})
 public abstract class BaseApiTest {
     @BeforeAll
     static void setupWireMockStubs() {
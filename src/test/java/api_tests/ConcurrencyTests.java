@@ -0,0 +1,118 @@
+package api_tests;
+
+import api_tests.client.ApiClient;
+import api_tests.concurrency.SessionHistory;
+import api_tests.concurrency.SessionRace;
+import api_tests.data.TokenCorpus;
+import configs.LoaderConfig;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static api_tests.constants.ApiConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("API-Тесты")
+@Feature("Конкурентные сессии")
+@DisplayName("Конкурентные LOGIN, ACTION и LOGOUT для одного и разных токенов")
+@Isolated
+public class ConcurrencyTests extends BaseApiTest {
+
+    private static final String TAG_NAME = "Concurrency_tests";
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private final int threads = config.getIntProperty("CONCURRENCY_THREADS", 16);
+    private final TokenCorpus tokens = new TokenCorpus(ThreadLocalRandom.current().nextLong());
+    private ApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new ApiClient();
+    }
+
+    @Test
+    @DisplayName("Гонка LOGIN, ACTION и LOGOUT одного токена")
+    @Description("Многие потоки одновременно отправляют LOGIN, ACTION и LOGOUT с одним токеном. По истории ответов " +
+            "проверяется, что хранилище токенов не дает невозможных комбинаций: ACTION после подтвержденного LOGOUT, " +
+            "ACTION или LOGOUT без LOGIN, расхождение числа успешных LOGIN и LOGOUT с итоговым состоянием токена")
+    @Severity(SeverityLevel.CRITICAL)
+    @Tag(TAG_NAME)
+    void sameTokenRace() {
+        String token = tokens.token(TokenCorpus.Category.VALID, 0);
+        int rounds = config.getIntProperty("CONCURRENCY_ROUNDS", 30);
+
+        SessionHistory history = Allure.step("Одновременные запросы из " + threads + " потоков", () ->
+                SessionRace.race(apiClient, token, threads, rounds));
+        boolean activeAtEnd = Allure.step("Проверка итогового состояния токена", () -> {
+            Response probe = apiClient.sendPostRequestWithBodyParams(token, Actions.ACTION);
+            if (probe.getStatusCode() == StatusCodes.OK) {
+                apiClient.sendPostRequestWithBodyParams(token, Actions.LOGOUT);
+                return true;
+            }
+            return false;
+        });
+
+        Allure.step("Валидация истории операций", () -> {
+            Allure.addAttachment("Статусы по action", "text/plain", statusSummary(history));
+            List<String> violations = history.violations(activeAtEnd);
+            if (!violations.isEmpty()) {
+                Allure.addAttachment("Нарушения", "text/plain", String.join(System.lineSeparator(), violations));
+            }
+            assertTrue(violations.isEmpty(), "Невозможные комбинации ответов: " + violations.size() +
+                    System.lineSeparator() + String.join(System.lineSeparator(), violations));
+        });
+    }
+
+    @Test
+    @DisplayName("Пропускная способность сессий с общим и с разными токенами")
+    @Description("Одинаковое число потоков выполняет сессии LOGIN → ACTION → LOGOUT сначала с одним общим токеном, " +
+            "затем каждый со своим. Сравниваются завершенные сессии в секунду и задержка принятых запросов: быстрые " +
+            "отказы общему токену пропускной способностью не считаются")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void sharedVersusDistinctTokensThroughput() {
+        int sessions = config.getIntProperty("CONCURRENCY_SESSIONS", 20);
+        String sharedToken = tokens.token(TokenCorpus.Category.VALID, 1);
+
+        SessionRace.Throughput shared = Allure.step("Сессии с общим токеном", () ->
+                SessionRace.throughput(apiClient, thread -> sharedToken, threads, sessions));
+        apiClient.sendPostRequestWithBodyParams(sharedToken, Actions.LOGOUT);
+        SessionRace.Throughput distinct = Allure.step("Сессии с разными токенами", () ->
+                SessionRace.throughput(apiClient, thread -> tokens.token(TokenCorpus.Category.VALID, 2 + thread),
+                        threads, sessions));
+
+        Allure.step("Валидация пропускной способности", () -> {
+            Allure.addAttachment("Пропускная способность", "text/plain", String.format(
+                    "Потоков: %d, сессий на поток: %d%n" +
+                            "Общий токен:   %.1f завершенных сессий/с (%d из %d), запросов 200: %d из %d, " +
+                            "средняя задержка 200: %.2f мс%n" +
+                            "Разные токены: %.1f завершенных сессий/с (%d из %d), запросов 200: %d из %d, " +
+                            "средняя задержка 200: %.2f мс%n" +
+                            "Отношение общий/разные: сессий/с %.2f, задержка 200 %.2f",
+                    threads, sessions,
+                    shared.completedSessionsPerSecond(), shared.completedSessions(), shared.sessions(),
+                    shared.succeeded(), shared.requests(), shared.acceptedMeanMillis(),
+                    distinct.completedSessionsPerSecond(), distinct.completedSessions(), distinct.sessions(),
+                    distinct.succeeded(), distinct.requests(), distinct.acceptedMeanMillis(),
+                    shared.completedSessionsPerSecond() / distinct.completedSessionsPerSecond(),
+                    shared.acceptedMeanMillis() / distinct.acceptedMeanMillis()));
+            assertEquals(distinct.requests(), distinct.succeeded(),
+                    "Сессии с разными токенами не должны мешать друг другу");
+        });
+    }
+
+    private static String statusSummary(SessionHistory history) {
+        Map<String, Map<Integer, Long>> byAction = history.operations().stream()
+                .collect(Collectors.groupingBy(SessionHistory.Operation::action, TreeMap::new,
+                        Collectors.groupingBy(SessionHistory.Operation::status, TreeMap::new, Collectors.counting())));
+        return byAction.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,280 @@
+package api_tests;
+
+import api_tests.client.ApiClient;
+import api_tests.client.AsyncApiClient;
+import api_tests.data.TokenCorpus;
+import api_tests.load.ChaosReport;
+import api_tests.load.LoadGenerator;
+import api_tests.load.LoadMetrics;
+import api_tests.load.LoadReport;
+import api_tests.load.PopulationReport;
+import api_tests.load.PopulationSweep;
+import api_tests.load.SessionPopulation;
+import api_tests.load.SkewReport;
+import api_tests.load.SkewedWorkload;
+import api_tests.load.ScalingSweep;
+import api_tests.load.SweepReport;
+import api_tests.load.ThroughputSeries;
+import api_tests.load.TokenPopularity;
+import api_tests.replay.TrafficReplayer;
+import api_tests.soak.ServiceHeapMonitor;
+import configs.ChaosTimeline;
+import configs.LoaderConfig;
+import configs.ServiceProcess;
+import configs.ServiceProcessExtension;
+import configs.WireMockExtension;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Epic("API-Тесты")
+@Feature("Нагрузочные тесты")
+@DisplayName("Нагрузочные тесты")
+@Isolated
+public class LoadTests extends BaseApiTest {
+
+    private static final String TAG_NAME = "Load_tests";
+    private static final String DEFAULT_CHAOS_TIMELINE = "20|none;15|/doAction=error:503:1;25|none;" +
+            "15|/auth=reset:0.5,/doAction=empty:0.5;25|none;15|/doAction=dribble:5000:10:1;25|none";
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private ApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new ApiClient();
+    }
+
+    @Test
+    @DisplayName("Постоянная интенсивность сессий LOGIN → ACTION → LOGOUT")
+    @Description("Сессии с уникальными токенами запускаются с постоянной интенсивностью (открытая модель нагрузки). " +
+            "Фиксируются пропускная способность, ошибки по статус-кодам и перцентили задержек")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void constantArrivalRate() {
+        double sessionsPerSecond = config.getDoubleProperty("LOAD_SESSIONS_PER_SECOND", 100);
+        Duration duration = Duration.ofSeconds(config.getIntProperty("LOAD_DURATION_SECONDS", 60));
+        int maxInFlight = config.getIntProperty("LOAD_MAX_IN_FLIGHT", 10_000);
+        double maxErrorRate = config.getDoubleProperty("LOAD_MAX_ERROR_RATE", 0.01);
+
+        Path histogramLog = Path.of(config.getStringProperty("LOAD_HISTOGRAM_LOG", "target/load/latency.hlog"));
+
+        LoadReport report = Allure.step("Подача нагрузки", () -> {
+            try (LoadMetrics metrics = new LoadMetrics(histogramLog, Duration.ofSeconds(1))) {
+                return new LoadGenerator(apiClient, sessionsPerSecond, duration, maxInFlight).run(metrics);
+            }
+        });
+
+        Allure.step("Валидация результатов нагрузки", () -> {
+            Allure.addAttachment("Отчет о нагрузке", "text/plain", report.summary());
+            attachHistogramLog(histogramLog);
+            assertEquals(0, report.sessionsDropped(),
+                    "Часть сессий отброшена: превышен лимит одновременных запросов " + maxInFlight);
+            assertTrue(report.errorRate() <= maxErrorRate,
+                    String.format("Доля ошибок %.4f превышает допустимую %.4f", report.errorRate(), maxErrorRate));
+        });
+    }
+
+    @Test
+    @DisplayName("Поиск точки насыщения по уровням конкурентности")
+    @Description("Сессии LOGIN → ACTION → LOGOUT выполняются без пауз 1, 2, 4, ... N потоками. На каждом уровне " +
+            "фиксируются пропускная способность и p50/p99, колено - уровень, после которого рост конкурентности " +
+            "перестает увеличивать пропускную способность")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void concurrencySweep() {
+        int maxConcurrency = config.getIntProperty("SWEEP_MAX_CONCURRENCY", 64);
+        Duration levelDuration = Duration.ofSeconds(config.getIntProperty("SWEEP_LEVEL_SECONDS", 10));
+        double minThroughputGain = config.getDoubleProperty("SWEEP_MIN_THROUGHPUT_GAIN", 0.1);
+        double maxErrorRate = config.getDoubleProperty("LOAD_MAX_ERROR_RATE", 0.01);
+
+        SweepReport report = Allure.step("Прогон уровней конкурентности до " + maxConcurrency, () ->
+                new ScalingSweep(apiClient, maxConcurrency, levelDuration, minThroughputGain).run());
+
+        Allure.step("Валидация результатов", () -> {
+            Allure.addAttachment("Уровни конкурентности", "text/plain", report.summary());
+            Allure.addAttachment("Уровни конкурентности (CSV)", "text/csv", report.csv());
+            SweepReport.Level knee = report.knee();
+            assertTrue(knee.report().errorRate() <= maxErrorRate, String.format(
+                    "Доля ошибок в точке насыщения (%d потоков) %.4f превышает допустимую %.4f",
+                    knee.concurrency(), knee.report().errorRate(), maxErrorRate));
+        });
+    }
+
+    @Test
+    @DisplayName("Задержки ACTION и LOGOUT при росте числа активных сессий")
+    @Description("Популяция токенов доводится через LOGIN до каждого из уровней POPULATION_LEVELS (по умолчанию " +
+            "10 тыс., 100 тыс., 1 млн). На каждом уровне замеряются p50/p99 ACTION случайных токенов и LOGOUT, а при " +
+            "запуске сервиса из тестов - удерживаемый heap и его доля на сессию. Рост задержек показывает стоимость " +
+            "поиска в хранилище, рост heap - предел числа сессий на узел")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void sessionPopulationScaling() {
+        List<Integer> populations = PopulationSweep.parseLevels(
+                config.getStringProperty("POPULATION_LEVELS", "10000,100000,1000000"));
+        int probeRequests = config.getIntProperty("POPULATION_PROBE_REQUESTS", 2000);
+        int probeConcurrency = config.getIntProperty("POPULATION_PROBE_CONCURRENCY", 8);
+        double maxMedianGrowth = config.getDoubleProperty("POPULATION_MAX_P50_GROWTH", 3.0);
+        double maxErrorRate = config.getDoubleProperty("LOAD_MAX_ERROR_RATE", 0.01);
+        ServiceProcess service = ServiceProcessExtension.getServiceProcess();
+
+        PopulationReport report;
+        try (AsyncApiClient bulkClient = new AsyncApiClient();
+             ServiceHeapMonitor heapMonitor = service == null ? null : new ServiceHeapMonitor(service.jmxServiceUrl())) {
+            report = Allure.step("Прогон уровней числа сессий " + populations, () ->
+                    new PopulationSweep(apiClient, bulkClient, populations, probeRequests, probeConcurrency,
+                            heapMonitor).run());
+        }
+
+        Allure.step("Валидация результатов", () -> {
+            Allure.addAttachment("Уровни числа сессий", "text/plain", report.summary());
+            Allure.addAttachment("Уровни числа сессий (CSV)", "text/csv", report.csv());
+            for (PopulationReport.Level level : report.levels()) {
+                assertTrue(level.login().errorRate() <= maxErrorRate, String.format(
+                        "Доля ошибок LOGIN до %d сессий %.4f превышает допустимую %.4f",
+                        level.population(), level.login().errorRate(), maxErrorRate));
+                assertTrue(level.action().errorRate() <= maxErrorRate, String.format(
+                        "Доля ошибок ACTION при %d сессиях %.4f превышает допустимую %.4f",
+                        level.population(), level.action().errorRate(), maxErrorRate));
+                assertTrue(level.logout().errorRate() <= maxErrorRate, String.format(
+                        "Доля ошибок LOGOUT при %d сессиях %.4f превышает допустимую %.4f",
+                        level.population(), level.logout().errorRate(), maxErrorRate));
+            }
+            assertTrue(report.actionMedianGrowth() <= maxMedianGrowth, String.format(
+                    "p50 ACTION вырос в %.2f раза при допустимых %.2f%n%s",
+                    report.actionMedianGrowth(), maxMedianGrowth, report.summary()));
+            assertTrue(report.logoutMedianGrowth() <= maxMedianGrowth, String.format(
+                    "p50 LOGOUT вырос в %.2f раза при допустимых %.2f%n%s",
+                    report.logoutMedianGrowth(), maxMedianGrowth, report.summary()));
+        });
+    }
+
+    @Test
+    @DisplayName("ACTION с неравномерным доступом к токенам")
+    @Description("Популяция из SKEW_POPULATION токенов проходит LOGIN, затем ACTION идут с постоянной " +
+            "интенсивностью, токен каждого запроса выбирается по распределению SKEW_DISTRIBUTION (Ципф или горячее " +
+            "множество). Задержки горячих и холодных токенов фиксируются отдельно: конкуренция за записи горячих " +
+            "токенов в хранилище сессий и на пути /doAction видна только при таком доступе")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void skewedTokenAccess() {
+        int population = config.getIntProperty("SKEW_POPULATION", 100_000);
+        TokenPopularity popularity = TokenPopularity.parse(
+                config.getStringProperty("SKEW_DISTRIBUTION", "zipf:1.1:0.01"), population);
+        double requestsPerSecond = config.getDoubleProperty("SKEW_REQUESTS_PER_SECOND", 200);
+        Duration duration = Duration.ofSeconds(config.getIntProperty("SKEW_DURATION_SECONDS", 60));
+        double maxHotRatio = config.getDoubleProperty("SKEW_MAX_HOT_P99_RATIO", 2.0);
+        int maxInFlight = config.getIntProperty("LOAD_MAX_IN_FLIGHT", 10_000);
+        double maxErrorRate = config.getDoubleProperty("LOAD_MAX_ERROR_RATE", 0.01);
+
+        SkewReport report;
+        try (AsyncApiClient bulkClient = new AsyncApiClient()) {
+            SessionPopulation sessions = new SessionPopulation(bulkClient,
+                    new TokenCorpus(ThreadLocalRandom.current().nextLong()));
+            report = Allure.step("Подача ACTION по распределению " + popularity, () ->
+                    new SkewedWorkload(apiClient, sessions, popularity, requestsPerSecond, duration, maxInFlight)
+                            .run());
+        }
+
+        Allure.step("Валидация результатов", () -> {
+            Allure.addAttachment("Горячие и холодные токены", "text/plain", report.summary());
+            assertTrue(report.login().errorRate() <= maxErrorRate, String.format(
+                    "Доля ошибок LOGIN популяции %.4f превышает допустимую %.4f",
+                    report.login().errorRate(), maxErrorRate));
+            assertEquals(0, report.load().sessionsDropped(),
+                    "Часть запросов отброшена: превышен лимит одновременных запросов " + maxInFlight);
+            assertTrue(report.load().errorRate() <= maxErrorRate, String.format(
+                    "Доля ошибок ACTION %.4f превышает допустимую %.4f", report.load().errorRate(), maxErrorRate));
+            assertTrue(report.hotToColdRatio(99) <= maxHotRatio, String.format(
+                    "p99 горячих токенов в %.2f раза больше, чем холодных, при допустимых %.2f%n%s",
+                    report.hotToColdRatio(99), maxHotRatio, report.summary()));
+        });
+    }
+
+    @Test
+    @DisplayName("Восстановление пропускной способности после сбоев внешнего сервиса")
+    @Description("Сессии LOGIN → ACTION → LOGOUT идут с постоянной интенсивностью, а /auth и /doAction по " +
+            "расписанию CHAOS_TIMELINE переключаются между нормальной работой и сбоями: серии 5xx, сброс соединения, " +
+            "закрытие без ответа, медленная отдача тела. Для каждой фазы сбоя фиксируется, через сколько секунд после " +
+            "ее окончания число успешных ответов в секунду возвращается к уровню до сбоя")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void backendChaosRecovery() {
+        List<ChaosTimeline.Phase> phases = ChaosTimeline.parse(
+                config.getStringProperty("CHAOS_TIMELINE", DEFAULT_CHAOS_TIMELINE));
+        double sessionsPerSecond = config.getDoubleProperty("CHAOS_SESSIONS_PER_SECOND", 50);
+        double recoveryThreshold = config.getDoubleProperty("CHAOS_RECOVERY_THRESHOLD", 0.9);
+        int maxRecoverySeconds = config.getIntProperty("CHAOS_MAX_RECOVERY_SECONDS", 10);
+        int maxInFlight = config.getIntProperty("LOAD_MAX_IN_FLIGHT", 10_000);
+
+        LoadReport load;
+        ThroughputSeries throughput;
+        try (ChaosTimeline timeline = new ChaosTimeline(phases, WireMockExtension.getBackendFaults())) {
+            throughput = new ThroughputSeries(timeline.start());
+            load = Allure.step("Подача нагрузки по расписанию сбоев", () -> {
+                try (LoadMetrics metrics = new LoadMetrics(throughput)) {
+                    return new LoadGenerator(apiClient, sessionsPerSecond, timeline.duration(), maxInFlight)
+                            .run(metrics);
+                }
+            });
+        }
+        ChaosReport report = ChaosReport.of(phases, throughput, recoveryThreshold);
+
+        Allure.step("Валидация восстановления", () -> {
+            Allure.addAttachment("Восстановление после сбоев", "text/plain", report.summary());
+            Allure.addAttachment("Успешные ответы по секундам (CSV)", "text/csv", report.csv());
+            Allure.addAttachment("Отчет о нагрузке", "text/plain", load.summary());
+            assertEquals(0, load.sessionsDropped(),
+                    "Часть сессий отброшена: превышен лимит одновременных запросов " + maxInFlight);
+            for (ChaosReport.FaultRun fault : report.faultRuns()) {
+                assertTrue(fault.recovered() && fault.recoverySeconds() <= maxRecoverySeconds, String.format(
+                        "После фаз %s (%s) пропускная способность не восстановилась за %d с%n%s",
+                        fault.phaseNumbers(), fault.spec(), maxRecoverySeconds, report.summary()));
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Повтор записанного трафика")
+    @Description("Запросы из журнала захвата (CAPTURE_FILE предыдущего прогона) отправляются повторно в исходном, " +
+            "ускоренном или максимальном темпе. Журнал читается потоково, задержки считаются от запланированного " +
+            "момента отправки")
+    @Severity(SeverityLevel.NORMAL)
+    @Tag(TAG_NAME)
+    void replayCapturedTraffic() {
+        String replayFile = config.getStringProperty("REPLAY_FILE", "");
+        assumeTrue(!replayFile.isBlank() && Files.isRegularFile(Path.of(replayFile)),
+                "Не задан журнал для повтора (REPLAY_FILE)");
+        double speed = TrafficReplayer.parseSpeed(config.getStringProperty("REPLAY_SPEED", "1"));
+        String targetUrl = config.getStringProperty("REPLAY_TARGET_URL", config.getUrl());
+        int maxInFlight = config.getIntProperty("LOAD_MAX_IN_FLIGHT", 10_000);
+
+        LoadReport report = Allure.step("Повтор журнала " + replayFile, () ->
+                new TrafficReplayer(apiClient, targetUrl, config.getApiKey(), speed, maxInFlight).replay(Path.of(replayFile)));
+
+        Allure.step("Валидация результатов повтора", () -> {
+            Allure.addAttachment("Отчет о повторе", "text/plain", report.summary());
+            assertEquals(0, report.sessionsDropped(),
+                    "Часть запросов отброшена: превышен лимит одновременных запросов " + maxInFlight);
+            assertEquals(0, report.transportErrorCount(), "Ошибки соединения при повторе");
+        });
+    }
+
+    private static void attachHistogramLog(Path histogramLog) {
+        try (InputStream log = Files.newInputStream(histogramLog)) {
+            Allure.addAttachment("Журнал гистограмм (.hlog)", "text/plain", log, ".hlog");
+        } catch (IOException e) {
+            Allure.addAttachment("Журнал гистограмм (.hlog)", "text/plain", "Не удалось прочитать " + histogramLog);
+        }
+    }
+}
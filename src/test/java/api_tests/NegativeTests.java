@@ -1,6 +1,8 @@
 package api_tests;
 
 import api_tests.client.ApiClient;
+import api_tests.data.TokenGenerator;
+import api_tests.metrics.LatencyBudget;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.hamcrest.Matchers;
@@ -15,20 +17,21 @@ import static org.hamcrest.Matchers.*;
 
 @Epic("API-Тесты")
 @Feature("Негативные тесты")
+@LatencyBudget(p95 = "300ms")
 @DisplayName("Негативные API-тесты c проверкой разных сценариев")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class NegativeTests extends BaseApiTest {
 
     private static final String TAG_NAME = "Negative_tests";
+    private String token;
     private ApiClient apiClient;
 
     @BeforeEach
     void setUp() {
-        apiClient = new ApiClient();
+        token = TokenGenerator.validToken();
+        apiClient = new ApiClient(token);
     }
 
     @Test
-    @Order(1)
     @DisplayName("Отправка НЕ POST запроса")
     @Description("Пользователь отправляет НЕ POST запрос и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -58,7 +61,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(2)
     @DisplayName("Отправка POST запроса на некорректный URL")
     @Description("Пользователь отправляет POST запрос на некорректный URL и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -79,7 +81,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(3)
     @DisplayName("Отправка POST запроса с пустыми Headers")
     @Description("Пользователь отправляет POST запрос с пустыми Headers и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -102,7 +103,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(4)
     @DisplayName("Отправка POST запроса с некорректными Headers")
     @Description("Пользователь отправляет POST запрос с некорректными Headers и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -128,7 +128,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(5)
     @DisplayName("Отправка POST запроса с пустым X-API-KEY")
     @Description("Пользователь отправляет POST запрос с пустым X-API-KEY и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -155,7 +154,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(6)
     @DisplayName("Отправка POST запроса с некорректным X-API-KEY")
     @Description("Пользователь отправляет POST запрос с некорректным X-API-KEY и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -181,7 +179,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(7)
     @DisplayName("Отправка POST запроса с пустым token но корректным action")
     @Description("Пользователь отправляет POST запрос с пустым token но корректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -203,19 +200,18 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(8)
     @DisplayName("Отправка POST запроса с корректным token но пустым action")
     @Description("Пользователь отправляет POST запрос с корректным token но пустым action и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
     @Tag(TAG_NAME)
     void correctTokenWithEmptyAction() {
         Allure.step("Отправка POST запроса с корректным token но пустым action", () -> {
-            Response response = apiClient.sendPostRequestWithBodyParams("AAAABBBBCCCCDDDDEEEEFFFF12345678", "");
+            Response response = apiClient.sendPostRequestWithBodyParams(token, "");
             Allure.step("Валидация ответа при пустом action", () -> {
                 int statusCode = response.getStatusCode();
                 String responseBody = response.getBody().asString();
                 Allure.addAttachment("Параметры запроса", "text/plain",
-                        "token: AAAABBBBCCCCDDDDEEEEFFFF12345678, action: ''");
+                        "token: " + token + ", action: ''");
                 Allure.addAttachment("Статус код", "text/plain", String.valueOf(statusCode));
                 Allure.addAttachment("Тело ответа", "text/plain", responseBody);
                 response.then()
@@ -226,7 +222,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(9)
     @DisplayName("Отправка POST запроса с пустым token и пустым action")
     @Description("Пользователь отправляет POST запрос с пустым token и пустым action и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -248,7 +243,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(10)
     @DisplayName("Отправка POST запроса с некорректным token и корректным action")
     @Description("Пользователь отправляет POST запрос с некорректным token и корректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -271,19 +265,18 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(11)
     @DisplayName("Отправка POST запроса с корректным token и некорректным action")
     @Description("Пользователь отправляет POST запрос с корректным token и некорректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
     @Tag(TAG_NAME)
     void correctTokenWithIncorrectAction() {
         Allure.step("Отправка POST запроса с корректным token и некорректным action", () -> {
-            Response response = apiClient.sendPostRequestWithBodyParams("AAAABBBBCCCCDDDDEEEEFFFF12345678", "INCORRECT");
+            Response response = apiClient.sendPostRequestWithBodyParams(token, "INCORRECT");
             Allure.step("Валидация ответа при некорректном action", () -> {
                 int statusCode = response.getStatusCode();
                 String responseBody = response.getBody().asString();
                 Allure.addAttachment("Параметры запроса", "text/plain",
-                        "token: AAAABBBBCCCCDDDDEEEEFFFF12345678, action: 'INCORRECT'");
+                        "token: " + token + ", action: 'INCORRECT'");
                 Allure.addAttachment("Статус код", "text/plain", String.valueOf(statusCode));
                 Allure.addAttachment("Тело ответа", "text/plain", responseBody);
                 response.then()
@@ -294,7 +287,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(12)
     @DisplayName("Отправка POST запроса с некорректным token и некорректным action")
     @Description("Пользователь отправляет POST запрос с некорректным token и некорректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -317,7 +309,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(13)
     @DisplayName("Отправка POST запроса с token больше 32 символов и корректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение больше 32 символов и корректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -342,7 +333,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(14)
     @DisplayName("Отправка POST запроса с token больше 32 символов и некорректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение больше 32 символов и некорректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -367,7 +357,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(15)
     @DisplayName("Отправка POST запроса с token больше 32 символов и пустым action")
     @Description("Пользователь отправляет POST запрос с token у которого значение больше 32 символов и пустой action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -392,7 +381,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(16)
     @DisplayName("Отправка POST запроса с token меньше 32 символов и корректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение меньше 32 символов и корректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -417,7 +405,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(17)
     @DisplayName("Отправка POST запроса с token меньше 32 символов и некорректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение меньше 32 символов и некорректным action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -442,7 +429,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(18)
     @DisplayName("Отправка POST запроса с token меньше 32 символов и пустым action")
     @Description("Пользователь отправляет POST запрос с token у которого значение меньше 32 символов и пустой action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -467,7 +453,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(19)
     @DisplayName("Отправка POST запроса с token только из заглавных букв и корректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из заглавных английских букв и корректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -492,7 +477,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(20)
     @DisplayName("Отправка POST запроса с token только из заглавных букв и некорректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из заглавных английских букв и некорректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -517,7 +501,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(21)
     @DisplayName("Отправка POST запроса с token только из заглавных букв и пустым action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из заглавных английских букв и пустой action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -542,7 +525,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(22)
     @DisplayName("Отправка POST запроса с token только из цифр и корректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из цифр и корректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -567,7 +549,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(23)
     @DisplayName("Отправка POST запроса с token только из цифр и некорректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из цифр и некорректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -592,7 +573,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(24)
     @DisplayName("Отправка POST запроса с token только из цифр и пустым action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из цифр и пустой action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -617,7 +597,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(25)
     @DisplayName("Отправка POST запроса с token только из латинских букв и корректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из латинских букв и корректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -642,7 +621,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(26)
     @DisplayName("Отправка POST запроса с token только из латинских букв и некорректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из латинских букв и некорректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -667,7 +645,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(27)
     @DisplayName("Отправка POST запроса с token только из латинских букв и пустым action")
     @Description("Пользователь отправляет POST запрос с token у которого значение только из латинских букв и пустой action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -692,7 +669,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(28)
     @DisplayName("Отправка POST запроса с token символами разного регистра и корректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение символами разного регистра и корректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -717,7 +693,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(29)
     @DisplayName("Отправка POST запроса с token символами разного регистра и некорректным action")
     @Description("Пользователь отправляет POST запрос с token у которого значение символами разного регистра и некорректный action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -742,7 +717,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(30)
     @DisplayName("Отправка POST запроса с token символами разного регистра и пустым action")
     @Description("Пользователь отправляет POST запрос с token у которого значение символами разного регистра и пустой action и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
@@ -768,7 +742,6 @@ public class NegativeTests extends BaseApiTest {
 
 
     @Test
-    @Order(31)
     @DisplayName("Отправка нескольких запросов LOGIN подряд с последующим LOGOUT")
     @Description("Пользователь отправляет несколько раз запрос на аутентификацию LOGIN, затем выполняет LOGOUT и проверяет корректность завершения сессии")
     @Severity(SeverityLevel.NORMAL)
@@ -822,7 +795,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(32)
     @DisplayName("Отправка запроса ACTION без предварительного LOGIN")
     @Description("Пользователь отправляет запрос на выполнение действия без предварительного ACTION и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -843,7 +815,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(33)
     @DisplayName("Отправка запроса LOGOUT без предварительного LOGIN")
     @Description("Пользователь отправляет запрос на выполнение завершения сессии (LOGOUT) без предварительного ACTION и в ответ получает ошибку")
     @Severity(SeverityLevel.CRITICAL)
@@ -864,7 +835,6 @@ public class NegativeTests extends BaseApiTest {
     }
 
     @Test
-    @Order(34)
     @DisplayName("Отправка нескольких запросов LOGOUT после LOGIN")
     @Description("Пользователь успешно аутентифицируется и несколько раз отправляет запрос на завершение сессии (LOGOUT) и в ответ получает ошибку")
     @Severity(SeverityLevel.NORMAL)
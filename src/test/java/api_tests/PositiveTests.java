@@ -1,6 +1,11 @@
 package api_tests;
 
 import api_tests.client.ApiClient;
+import api_tests.data.TokenGenerator;
+import api_tests.metrics.LatencyBudget;
+import configs.StubHitCounters;
+import configs.WireMockConfig;
+import configs.WireMockExtension;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
@@ -10,8 +15,8 @@ import static org.hamcrest.Matchers.equalTo;
 
 @Epic("API-Тесты")
 @Feature("Позитивные тесты")
+@LatencyBudget(p95 = "300ms")
 @DisplayName("Позитивные API-тесты c проверкой разных action")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class PositiveTests extends BaseApiTest {
 
     private static final String TAG_NAME = "Positive_tests";
@@ -33,7 +38,7 @@ public class PositiveTests extends BaseApiTest {
 
     @BeforeEach
     void setUp() {
-        apiClient = new ApiClient();
+        apiClient = new ApiClient(TokenGenerator.validToken());
     }
 
     @AfterEach
@@ -66,12 +71,13 @@ public class PositiveTests extends BaseApiTest {
     }
 
     @Test
-    @Order(1)
     @DisplayName("Успешная аутентификация пользователя")
     @Description(SUCCESSAUTH_DESCRIPTION)
     @Severity(SeverityLevel.CRITICAL)
     @Tag(TAG_NAME)
     void authUser() {
+        StubHitCounters.Checkpoint mockHits =
+                WireMockExtension.getHitCounters().checkpoint(WireMockConfig.DEFAULT_STUBS);
         Allure.step("Аутентификация пользователя", () -> {
             Response response = apiClient.sendPostRequest(Actions.LOGIN);
             loginPerformedInTest = true;
@@ -82,15 +88,18 @@ public class PositiveTests extends BaseApiTest {
                         .body(ResponseFields.RESULT, equalTo(ResponseFields.OK));
             });
         });
+        Allure.step("Проверка обращения к внешнему сервису /auth", () ->
+                mockHits.assertHits(WireMockConfig.AUTH_STUB, 1));
     }
 
     @Test
-    @Order(2)
     @DisplayName("Выполнение действия пользователем")
     @Description(DO_ACTION_DESCRIPTION)
     @Severity(SeverityLevel.CRITICAL)
     @Tag(TAG_NAME)
     void doAction() {
+        StubHitCounters.Checkpoint mockHits =
+                WireMockExtension.getHitCounters().checkpoint(WireMockConfig.DEFAULT_STUBS);
         performLogin();
         Allure.step("Выполнение действия", () -> {
             Response response = apiClient.sendPostRequest(Actions.ACTION);
@@ -101,10 +110,13 @@ public class PositiveTests extends BaseApiTest {
                         .body(ResponseFields.RESULT, equalTo(ResponseFields.OK));
             });
         });
+        Allure.step("Проверка обращений к внешнему сервису /auth и /doAction", () -> {
+            mockHits.assertHits(WireMockConfig.AUTH_STUB, 1);
+            mockHits.assertHits(WireMockConfig.DO_ACTION_STUB, 1);
+        });
     }
 
     @Test
-    @Order(3)
     @DisplayName("Выполнение действия пользователем несколько раз")
     @Description(MANY_DO_ACTION_DESCRIPTION)
     @Severity(SeverityLevel.CRITICAL)
@@ -1,8 +1,10 @@
 package api_tests;
 import api_tests.client.ApiClient;
+import api_tests.metrics.LatencyBudgetExtension;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import java.net.ConnectException;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,6 +16,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @Feature("Тесты недоступного сервера")
 @DisplayName("Тесты недоступного сервера")
 @Disabled("Тесты отключены по умолчанию. Запуск производится при недоступном сервере")
+@ExtendWith(LatencyBudgetExtension.class)
 public class ServerUnavailableTests {
 
     private static final String TAG_NAME = "Server_unavailable_tests";
@@ -0,0 +1,86 @@
+package api_tests;
+
+import api_tests.client.ApiClient;
+import api_tests.load.LoadGenerator;
+import api_tests.load.LoadMetrics;
+import api_tests.load.LoadReport;
+import api_tests.soak.HeapGrowthReport;
+import api_tests.soak.ServiceHeapMonitor;
+import configs.LoaderConfig;
+import configs.ServiceProcess;
+import configs.ServiceProcessExtension;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Epic("API-Тесты")
+@Feature("Длительные тесты")
+@DisplayName("Длительные тесты")
+@Isolated
+public class SoakTests extends BaseApiTest {
+
+    private static final String TAG_NAME = "Soak_tests";
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private ApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new ApiClient();
+    }
+
+    @Test
+    @DisplayName("Удерживаемый heap сервиса не растет при длительном потоке сессий")
+    @Description("Сессии LOGIN → ACTION → LOGOUT с уникальными токенами идут с постоянной интенсивностью. " +
+            "Heap запущенного из тестов сервиса снимается через JMX после полной сборки мусора; если после " +
+            "прогрева удерживаемый объем продолжает расти, токены не удаляются из хранилища")
+    @Severity(SeverityLevel.CRITICAL)
+    @Tag(TAG_NAME)
+    void sessionStoreDoesNotLeak() {
+        ServiceProcess service = ServiceProcessExtension.getServiceProcess();
+        assumeTrue(service != null, "Сервис не запущен из тестов (SERVICE_JAR): heap процесса недоступен");
+        double sessionsPerSecond = config.getDoubleProperty("SOAK_SESSIONS_PER_SECOND", 300);
+        Duration duration = Duration.ofMillis(
+                Math.round(config.getDoubleProperty("SOAK_DURATION_MINUTES", 60) * 60_000));
+        Duration sampleInterval = Duration.ofSeconds(config.getIntProperty("SOAK_SAMPLE_SECONDS", 30));
+        double warmupFraction = config.getDoubleProperty("SOAK_WARMUP_FRACTION", 0.2);
+        double maxGrowthMb = config.getDoubleProperty("SOAK_MAX_RETAINED_GROWTH_MB", 32);
+        int maxInFlight = config.getIntProperty("LOAD_MAX_IN_FLIGHT", 10_000);
+        double maxErrorRate = config.getDoubleProperty("LOAD_MAX_ERROR_RATE", 0.01);
+        Path histogramLog = Path.of(config.getStringProperty("SOAK_HISTOGRAM_LOG", "target/soak/latency.hlog"));
+
+        HeapGrowthReport heap;
+        LoadReport load;
+        try (ServiceHeapMonitor monitor = new ServiceHeapMonitor(service.jmxServiceUrl());
+             LoadMetrics metrics = new LoadMetrics(histogramLog, Duration.ofSeconds(10))) {
+            monitor.start(sampleInterval);
+            load = Allure.step("Подача сессий в течение " + duration.toSeconds() + " с", () ->
+                    new LoadGenerator(apiClient, sessionsPerSecond, duration, maxInFlight).run(metrics));
+            assertNull(monitor.samplingError(), "Замер heap сервиса через JMX не удался");
+            monitor.sampleNow();
+            heap = new HeapGrowthReport(monitor.samples(), warmupFraction, sessionsPerSecond);
+        }
+
+        Allure.step("Валидация heap и результатов нагрузки", () -> {
+            Allure.addAttachment("Heap сервиса", "text/plain", heap.summary());
+            Allure.addAttachment("Heap сервиса (CSV)", "text/csv", heap.csv());
+            Allure.addAttachment("Отчет о нагрузке", "text/plain", load.summary());
+            assertTrue(service.isAlive(), "Процесс сервиса завершился во время прогона, см. " + service.getWorkDir());
+            assertEquals(0, load.sessionsDropped(),
+                    "Часть сессий отброшена: превышен лимит одновременных запросов " + maxInFlight);
+            assertTrue(load.errorRate() <= maxErrorRate,
+                    String.format("Доля ошибок %.4f превышает допустимую %.4f", load.errorRate(), maxErrorRate));
+            assertTrue(heap.window().size() >= 3, String.format(
+                    "Недостаточно замеров heap для оценки тренда: %d, нужно не меньше 3 (SOAK_SAMPLE_SECONDS)",
+                    heap.window().size()));
+            assertTrue(heap.growthBytes() <= maxGrowthMb * 1024 * 1024, String.format(
+                    "Удерживаемый heap после полных сборок растет: %.2f МБ за окно при допустимых %.2f МБ%n%s",
+                    heap.growthBytes() / (1024 * 1024), maxGrowthMb, heap.summary()));
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package api_tests.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие вызова {@link ApiClient}; длительность события - задержка вызова. Без активной записи JFR
+ * событие не фиксируется и почти ничего не стоит.
+ */
+@Name("api_tests.ApiCall")
+@Label("Вызов ApiClient")
+@Category({"API-Тесты", "ApiClient"})
+@Description("Запрос ApiClient к тестируемому сервису")
+@StackTrace(false)
+class ApiCallEvent extends Event {
+
+    @Label("Action")
+    String action;
+
+    @Label("URL")
+    String url;
+
+    @Label("Статус")
+    @Description("HTTP-статус ответа, 0 - ответ не получен")
+    int status;
+}
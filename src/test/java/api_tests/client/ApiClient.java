@@ -1,150 +1,176 @@
 package api_tests.client;
 
+import api_tests.metrics.CallTimings;
+import api_tests.metrics.PhaseTimingFilter;
+import api_tests.replay.TrafficCaptureFilter;
+import api_tests.reporting.AllureAttachmentFilter;
 import configs.LoaderConfig;
-import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import static api_tests.constants.ApiConstants.*;
 import static io.restassured.RestAssured.given;
 
 public class ApiClient {
 
     private static final LoaderConfig config = LoaderConfig.getInstance();
+    private static final Map<TemplateKey, RequestSpecification> TEMPLATES = new ConcurrentHashMap<>();
+    private static final TrafficCaptureFilter CAPTURE_FILTER = TrafficCaptureFilter.fromConfig();
     private final String baseUrl;
-    private final String apiKey;
     private final String token;
+    private final Map<String, String> defaultHeaders;
+    private final List<Filter> filters;
 
     public ApiClient() {
-        this.baseUrl = config.getUrl();
-        this.apiKey = config.getApiKey();
-        this.token = config.getToken();
+        this(config.getUrl(), config.getApiKey(), config.getToken());
+    }
+
+    public ApiClient(String token) {
+        this(config.getUrl(), config.getApiKey(), token);
+    }
+
+    public ApiClient(String baseUrl, String apiKey, String token) {
+        this(baseUrl, apiKey, token, List.of());
+    }
+
+    /**
+     * @param filters фильтры, добавляемые к каждому запросу этого клиента поверх фильтров общего шаблона
+     */
+    public ApiClient(String baseUrl, String apiKey, String token, List<Filter> filters) {
+        this.baseUrl = baseUrl;
+        this.filters = List.copyOf(filters);
+        this.token = token;
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED);
+        headers.put(Headers.API_KEY, apiKey);
+        headers.put(Headers.ACCEPT, Headers.APPLICATION_JSON);
+        this.defaultHeaders = Collections.unmodifiableMap(headers);
     }
 
     public Response sendPostRequest(String action) {
-        Map<String, String> bodyParams = new HashMap<>();
-        bodyParams.put(RequestParams.TOKEN, token);
-        bodyParams.put(RequestParams.ACTION, action);
-
-        RequestSpecification request = given()
-                .filter(new AllureRestAssured())
-                .baseUri(baseUrl)
-                .basePath(Endpoints.BASE_ENDPOINT)
-                .headers(
-                        Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED,
-                        Headers.API_KEY, apiKey,
-                        Headers.ACCEPT, Headers.APPLICATION_JSON
-                )
-                .formParams(bodyParams);
-        Response response = request.post();
-        return response;
+        return timed(action, baseUrl, request(baseUrl, defaultHeaders, token, action), RequestSpecification::post);
     }
 
     public Response sendRequest(String method, String action) {
-        Map<String, String> bodyParams = new HashMap<>();
-        bodyParams.put(RequestParams.TOKEN, token);
-        bodyParams.put(RequestParams.ACTION, action);
-        RequestSpecification request = given()
-                .filter(new AllureRestAssured())
-                .baseUri(baseUrl)
-                .basePath(Endpoints.BASE_ENDPOINT)
-                .headers(
-                        Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED,
-                        Headers.API_KEY, apiKey,
-                        Headers.ACCEPT, Headers.APPLICATION_JSON
-                )
-                .formParams(bodyParams);
-        Response response;
+        return timed(action, baseUrl, request(baseUrl, defaultHeaders, token, action), call(method));
+    }
+
+    public Response sendRequest(String method, String url, Map<String, String> headers,
+                                String tokenValue, String actionValue) {
+        return timed(actionValue, url, request(url, headers, tokenValue, actionValue), call(method));
+    }
+
+    public Response sendPostRequestToUrl(String url, String action) {
+        return timed(action, url, request(url, defaultHeaders, token, action), RequestSpecification::post);
+    }
+
+    public Response sendPostRequestWithHeaders(String action, Map<String, String> headers) {
+        return timed(action, baseUrl, request(baseUrl, headers, token, action), RequestSpecification::post);
+    }
+
+    public Response sendPostRequestWithBodyParams(String tokenValue, String actionValue) {
+        return timed(actionValue, baseUrl, request(baseUrl, defaultHeaders, tokenValue, actionValue),
+                RequestSpecification::post);
+    }
+
+    public Response sendPostRequestToUrlWithHeaders(String url, String action, Map<String, String> headers) {
+        return timed(action, url, request(url, headers, token, action), RequestSpecification::post);
+    }
+
+    /** Запрос так же, как его собирает sendPostRequest (шаблон и фильтры), но без отправки. */
+    public RequestSpecification prepareRequest(String action) {
+        return request(baseUrl, defaultHeaders, token, action);
+    }
+
+    private static Function<RequestSpecification, Response> call(String method) {
         switch (method.toUpperCase()) {
             case "GET":
-                response = request.get();
-                break;
+                return RequestSpecification::get;
             case "PUT":
-                response = request.put();
-                break;
+                return RequestSpecification::put;
             case "DELETE":
-                response = request.delete();
-                break;
+                return RequestSpecification::delete;
             case "PATCH":
-                response = request.patch();
-                break;
+                return RequestSpecification::patch;
             default:
-                response = request.post();
+                return RequestSpecification::post;
         }
-        return response;
     }
 
-    public Response sendPostRequestToUrl(String url, String action) {
-        Map<String, String> bodyParams = new HashMap<>();
-        bodyParams.put(RequestParams.TOKEN, token);
-        bodyParams.put(RequestParams.ACTION, action);
-        RequestSpecification request = given()
-                .filter(new AllureRestAssured())
-                .baseUri(url)
-                .basePath(Endpoints.BASE_ENDPOINT)
-                .headers(
-                        Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED,
-                        Headers.API_KEY, apiKey,
-                        Headers.ACCEPT, Headers.APPLICATION_JSON
-                )
-                .formParams(bodyParams);
-        Response response = request.post();
-        return response;
-    }
-
-    public Response sendPostRequestWithHeaders(String action, Map<String, String> headers) {
-        Map<String, String> bodyParams = new HashMap<>();
-        bodyParams.put(RequestParams.TOKEN, token);
-        bodyParams.put(RequestParams.ACTION, action);
-        RequestSpecification request = given()
-                .filter(new AllureRestAssured())
-                .baseUri(baseUrl)
-                .basePath(Endpoints.BASE_ENDPOINT);
-        if (headers != null && !headers.isEmpty()) {
-            request.headers(headers);
+    private static Response timed(String action, String url, RequestSpecification request,
+                                  Function<RequestSpecification, Response> call) {
+        ApiCallEvent event = new ApiCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = call.apply(request);
+            return response;
+        } finally {
+            CallTimings.record(action, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.action = action;
+                event.url = url;
+                event.status = response == null ? 0 : response.getStatusCode();
+                event.commit();
+            }
         }
-        request.formParams(bodyParams);
-        Response response = request.post();
-        return response;
     }
 
-    public Response sendPostRequestWithBodyParams(String tokenValue, String actionValue) {
-        Map<String, String> bodyParams = new HashMap<>();
+    private RequestSpecification request(String url, Map<String, String> headers,
+                                         String tokenValue, String actionValue) {
+        RequestSpecification request = given().spec(template(url, headers));
+        if (!filters.isEmpty()) {
+            request.filters(filters);
+        }
         if (tokenValue != null) {
-            bodyParams.put(RequestParams.TOKEN, tokenValue);
+            request.formParam(RequestParams.TOKEN, tokenValue);
         }
         if (actionValue != null) {
-            bodyParams.put(RequestParams.ACTION, actionValue);
+            request.formParam(RequestParams.ACTION, actionValue);
         }
-        RequestSpecification request = given()
-                .filter(new AllureRestAssured())
-                .baseUri(baseUrl)
-                .basePath(Endpoints.BASE_ENDPOINT)
-                .headers(
-                        Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED,
-                        Headers.API_KEY, apiKey,
-                        Headers.ACCEPT, Headers.APPLICATION_JSON
-                )
-                .formParams(bodyParams);
-        Response response = request.post();
-        return response;
+        return request;
     }
 
-    public Response sendPostRequestToUrlWithHeaders(String url, String action, Map<String, String> headers) {
-        Map<String, String> bodyParams = new HashMap<>();
-        bodyParams.put(RequestParams.TOKEN, token);
-        bodyParams.put(RequestParams.ACTION, action);
-        RequestSpecification request = given()
-                .filter(new AllureRestAssured())
-                .baseUri(url)
-                .basePath(Endpoints.BASE_ENDPOINT);
-        if (headers != null && !headers.isEmpty()) {
-            request.headers(headers);
+    private static RequestSpecification template(String url, Map<String, String> headers) {
+        Map<String, String> headerSet = headers == null ? Map.of() : headers;
+        RequestSpecification template = TEMPLATES.get(new TemplateKey(url, headerSet));
+        if (template == null) {
+            TemplateKey key = new TemplateKey(url, Collections.unmodifiableMap(new LinkedHashMap<>(headerSet)));
+            template = TEMPLATES.computeIfAbsent(key, ApiClient::buildTemplate);
         }
-        request.formParams(bodyParams);
-        Response response = request.post();
-        return response;
+        return template;
     }
-}
 
+    private static RequestSpecification buildTemplate(TemplateKey key) {
+        RequestSpecBuilder builder = new RequestSpecBuilder();
+        if (CAPTURE_FILTER != null) {
+            builder.addFilter(CAPTURE_FILTER);
+        }
+        // поверх глобального RestAssured.config: меняется только фабрика HTTP-клиентов
+        RestAssuredConfig restAssuredConfig = RestAssured.config();
+        builder.addFilter(AllureAttachmentFilter.getInstance())
+                .addFilter(PhaseTimingFilter.getInstance())
+                .setConfig(restAssuredConfig.httpClient(restAssuredConfig.getHttpClientConfig()
+                        .httpClientFactory(PhaseTimingFilter.httpClientFactory())))
+                .setBaseUri(key.url())
+                .setBasePath(Endpoints.BASE_ENDPOINT);
+        if (!key.headers().isEmpty()) {
+            builder.addHeaders(key.headers());
+        }
+        return builder.build();
+    }
+
+    private record TemplateKey(String url, Map<String, String> headers) {
+    }
+}
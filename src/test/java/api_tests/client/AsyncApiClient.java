@@ -0,0 +1,180 @@
+package api_tests.client;
+
+import configs.LoaderConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Асинхронный аналог {@link ApiClient} на неблокирующем java.net.http.HttpClient с пулом keep-alive соединений.
+ * Число запросов в полете ограничено: при исчерпании лимита запрос встает в очередь и отправляется, когда
+ * освобождается слот, вызывающий поток не блокируется. Запрос без ответа дольше таймаута завершается
+ * {@link java.net.http.HttpTimeoutException} и освобождает слот.
+ */
+public class AsyncApiClient implements AutoCloseable {
+
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private final URI endpoint;
+    private final String apiKey;
+    private final String token;
+    private final HttpClient httpClient;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final Queue<Pending> waiting = new ConcurrentLinkedQueue<>();
+
+    private record Pending(HttpRequest request, CompletableFuture<Response> result) {
+    }
+
+    public AsyncApiClient() {
+        this(config.getUrl(), config.getApiKey(), config.getToken(),
+                config.getIntProperty("ASYNC_MAX_IN_FLIGHT", 256),
+                Duration.ofSeconds(config.getIntProperty("ASYNC_REQUEST_TIMEOUT_SECONDS", 30)));
+    }
+
+    public AsyncApiClient(String baseUrl, String apiKey, String token, int maxInFlight, Duration requestTimeout) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Лимит запросов в полете должен быть положительным: " + maxInFlight);
+        }
+        if (requestTimeout.isNegative() || requestTimeout.isZero()) {
+            throw new IllegalArgumentException("Таймаут запроса должен быть положительным: " + requestTimeout);
+        }
+        this.requestTimeout = requestTimeout;
+        this.endpoint = URI.create(baseUrl + Endpoints.BASE_ENDPOINT);
+        this.apiKey = apiKey;
+        this.token = token;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public CompletableFuture<Response> sendPostRequest(String action) {
+        return sendPostRequestWithBodyParams(token, action);
+    }
+
+    public CompletableFuture<Response> sendPostRequestWithBodyParams(String tokenValue, String actionValue) {
+        return send(HttpRequest.BodyPublishers.ofString(formBody(tokenValue, actionValue)));
+    }
+
+    /**
+     * Отправляет уже закодированное тело формы, например из {@link api_tests.data.TokenCorpus#fillFormBody}.
+     * Буфер нельзя переиспользовать до завершения возвращенного future.
+     */
+    public CompletableFuture<Response> sendPostRequestWithFormBody(byte[] formBody, int length) {
+        return send(HttpRequest.BodyPublishers.ofByteArray(formBody, 0, length));
+    }
+
+    private CompletableFuture<Response> send(HttpRequest.BodyPublisher body) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header(Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED)
+                .header(Headers.API_KEY, apiKey)
+                .header(Headers.ACCEPT, Headers.APPLICATION_JSON)
+                .POST(body)
+                .build();
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        waiting.add(new Pending(request, result));
+        dispatch();
+        return result;
+    }
+
+    /** Отправляет запросы из очереди, пока есть свободные слоты; вызывается после постановки и после ответа. */
+    private void dispatch() {
+        while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+            Pending next = waiting.poll();
+            if (next == null) {
+                inFlight.release();
+                continue;
+            }
+            try {
+                httpClient.sendAsync(next.request(), HttpResponse.BodyHandlers.ofString())
+                        .thenApply(AsyncApiClient::toResponse)
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            dispatch();
+                            if (error != null) {
+                                next.result().completeExceptionally(error);
+                            } else {
+                                next.result().complete(response);
+                            }
+                        });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                next.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public void close() {
+        for (Pending pending = waiting.poll(); pending != null; pending = waiting.poll()) {
+            pending.result().completeExceptionally(new CancellationException("Клиент закрыт до отправки запроса"));
+        }
+        httpClient.close();
+    }
+
+    private static String formBody(String tokenValue, String actionValue) {
+        StringBuilder body = new StringBuilder();
+        appendParam(body, RequestParams.TOKEN, tokenValue);
+        appendParam(body, RequestParams.ACTION, actionValue);
+        return body.toString();
+    }
+
+    private static void appendParam(StringBuilder body, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!body.isEmpty()) {
+            body.append('&');
+        }
+        body.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+
+    private static String protocol(HttpClient.Version version) {
+        return switch (version) {
+            case HTTP_1_1 -> "HTTP/1.1";
+            case HTTP_2 -> "HTTP/2";
+        };
+    }
+
+    private static Response toResponse(HttpResponse<String> httpResponse) {
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine(protocol(httpResponse.version()) + " " + httpResponse.statusCode())
+                .setHeaders(new io.restassured.http.Headers(headers))
+                .setBody(httpResponse.body());
+        httpResponse.headers().firstValue(Headers.CONTENT_TYPE).ifPresent(builder::setContentType);
+        return builder.build();
+    }
+}
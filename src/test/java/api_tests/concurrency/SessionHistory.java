@@ -0,0 +1,82 @@
+package api_tests.concurrency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * История операций над одним токеном с моментами отправки и получения ответа. По ней проверяется, что
+ * результаты допускают хоть какой-то последовательный порядок операций в хранилище токенов сервиса.
+ */
+public class SessionHistory {
+
+    public record Operation(String action, int status, long sentNanos, long receivedNanos) {
+        public boolean succeeded() {
+            return status == StatusCodes.OK;
+        }
+    }
+
+    private final Queue<Operation> operations = new ConcurrentLinkedQueue<>();
+
+    public void record(String action, int status, long sentNanos, long receivedNanos) {
+        operations.add(new Operation(action, status, sentNanos, receivedNanos));
+    }
+
+    public List<Operation> operations() {
+        List<Operation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparingLong(Operation::sentNanos));
+        return sorted;
+    }
+
+    /**
+     * Возвращает описания невозможных комбинаций:
+     * успешные ACTION или LOGOUT, которым не мог предшествовать ни один успешный LOGIN;
+     * успешный ACTION, отправленный после подтвержденного LOGOUT, без LOGIN, который мог пройти между ними;
+     * расхождение числа успешных LOGIN и LOGOUT с состоянием токена в конце ({@code activeAtEnd}).
+     */
+    public List<String> violations(boolean activeAtEnd) {
+        List<Operation> history = operations();
+        List<Operation> logins = successful(history, Actions.LOGIN);
+        List<Operation> logouts = successful(history, Actions.LOGOUT);
+        List<Operation> actions = successful(history, Actions.ACTION);
+        List<String> violations = new ArrayList<>();
+
+        for (Operation operation : history) {
+            if (operation.succeeded() && !operation.action().equals(Actions.LOGIN)
+                    && logins.stream().noneMatch(login -> login.sentNanos() < operation.receivedNanos())) {
+                violations.add(String.format("%s успешен без предшествующего успешного LOGIN: %s",
+                        operation.action(), operation));
+            }
+        }
+        for (Operation logout : logouts) {
+            long earliestLoginAfter = logins.stream()
+                    .filter(login -> login.receivedNanos() > logout.sentNanos())
+                    .mapToLong(Operation::sentNanos)
+                    .min()
+                    .orElse(Long.MAX_VALUE);
+            for (Operation action : actions) {
+                if (action.sentNanos() > logout.receivedNanos() && action.receivedNanos() <= earliestLoginAfter) {
+                    violations.add(String.format("ACTION успешен после подтвержденного LOGOUT: %s после %s",
+                            action, logout));
+                }
+            }
+        }
+        int balance = logins.size() - logouts.size();
+        int expectedBalance = activeAtEnd ? 1 : 0;
+        if (balance != expectedBalance) {
+            violations.add(String.format("Успешных LOGIN %d, LOGOUT %d, а токен в конце %s",
+                    logins.size(), logouts.size(), activeAtEnd ? "активен" : "не активен"));
+        }
+        return violations;
+    }
+
+    private static List<Operation> successful(List<Operation> history, String action) {
+        return history.stream()
+                .filter(operation -> operation.succeeded() && operation.action().equals(action))
+                .toList();
+    }
+}
@@ -0,0 +1,139 @@
+package api_tests.concurrency;
+
+import api_tests.client.ApiClient;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Одновременные LOGIN, ACTION и LOGOUT из многих виртуальных потоков. Потоки стартуют по общему сигналу,
+ * чтобы запросы действительно пересекались во времени.
+ */
+public final class SessionRace {
+
+    private static final String[] ACTIONS = {Actions.LOGIN, Actions.ACTION, Actions.LOGOUT};
+
+    private SessionRace() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Итог сессий: быстрые отказы (например 409 на LOGIN чужой сессии общего токена) попадают в {@code requests},
+     * но не в завершенные сессии и не в задержку принятых запросов, по которым и сравнивается пропускная способность.
+     */
+    public record Throughput(long requests, long succeeded, long sessions, long completedSessions,
+                             long acceptedNanos, Duration elapsed) {
+        public double requestsPerSecond() {
+            return requests / seconds();
+        }
+
+        /** Сессии, в которых LOGIN, ACTION и LOGOUT получили 200, в секунду. */
+        public double completedSessionsPerSecond() {
+            return completedSessions / seconds();
+        }
+
+        /** Средняя задержка запросов с ответом 200, мс; NaN, если таких нет. */
+        public double acceptedMeanMillis() {
+            return succeeded == 0 ? Double.NaN : acceptedNanos / 1e6 / succeeded;
+        }
+
+        private double seconds() {
+            return Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    /**
+     * Каждый поток выполняет {@code rounds} операций над одним токеном, перебирая LOGIN, ACTION, LOGOUT
+     * со сдвигом на свой номер, и записывает их в историю.
+     */
+    public static SessionHistory race(ApiClient apiClient, String token, int threads, int rounds) {
+        SessionHistory history = new SessionHistory();
+        runConcurrently(threads, thread -> {
+            for (int round = 0; round < rounds; round++) {
+                String action = ACTIONS[(thread + round) % ACTIONS.length];
+                long sent = System.nanoTime();
+                Response response = apiClient.sendPostRequestWithBodyParams(token, action);
+                history.record(action, response.getStatusCode(), sent, System.nanoTime());
+            }
+        });
+        return history;
+    }
+
+    /**
+     * Каждый поток выполняет {@code sessions} сессий LOGIN → ACTION → LOGOUT с токеном {@code tokenForThread}
+     * (общим или своим для каждого потока); неуспешные ответы не прерывают сессию.
+     */
+    public static Throughput throughput(ApiClient apiClient, IntFunction<String> tokenForThread, int threads,
+                                        int sessions) {
+        LongAdder requests = new LongAdder();
+        LongAdder succeeded = new LongAdder();
+        LongAdder completedSessions = new LongAdder();
+        LongAdder acceptedNanos = new LongAdder();
+        long start = System.nanoTime();
+        runConcurrently(threads, thread -> {
+            String token = tokenForThread.apply(thread);
+            for (int session = 0; session < sessions; session++) {
+                boolean completed = true;
+                for (String action : ACTIONS) {
+                    long sent = System.nanoTime();
+                    int status = apiClient.sendPostRequestWithBodyParams(token, action).getStatusCode();
+                    long elapsed = System.nanoTime() - sent;
+                    requests.increment();
+                    if (status == StatusCodes.OK) {
+                        succeeded.increment();
+                        acceptedNanos.add(elapsed);
+                    } else {
+                        completed = false;
+                    }
+                }
+                if (completed) {
+                    completedSessions.increment();
+                }
+            }
+        });
+        return new Throughput(requests.sum(), succeeded.sum(), (long) threads * sessions, completedSessions.sum(),
+                acceptedNanos.sum(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static void runConcurrently(int threads, ThreadBody body) {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int thread = 0; thread < threads; thread++) {
+                int threadNumber = thread;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    body.run(threadNumber);
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Поток завершился с ошибкой", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание потоков прервано", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread);
+    }
+}
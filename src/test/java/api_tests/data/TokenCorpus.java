@@ -0,0 +1,165 @@
+package api_tests.data;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Детерминированный корпус токенов: токен однозначно задается seed, категорией и индексом, поэтому корпус
+ * не хранит состояния и безопасен для параллельного использования. Токены пишутся байтами ASCII прямо
+ * в переданный буфер, без промежуточных String. Все символы допустимы в form-urlencoded без экранирования.
+ * <p>
+ * Валидные токены с разными индексами гарантированно различны: первые 13 символов - биективное base36-представление
+ * перемешанного индекса, 14-й символ всегда буква, 15-й всегда цифра.
+ */
+public final class TokenCorpus {
+
+    public static final int MAX_TOKEN_LENGTH = TokenGenerator.TOKEN_LENGTH + 8;
+
+    private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DIGITS = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALID_CHARS = "-_.~".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TOKEN_PARAM = "token=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ACTION_PARAM = "&action=".getBytes(StandardCharsets.US_ASCII);
+    private static final int UNIQUE_PREFIX_LENGTH = 13;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public enum Category { VALID, TOO_LONG, TOO_SHORT, DIGITS_ONLY, UPPERCASE_ONLY, MIXED_CASE, INVALID_CHARS, EMPTY }
+
+    private final long seed;
+
+    public TokenCorpus(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Записывает токен в {@code target} начиная с {@code offset}; в буфере должно быть не меньше
+     * {@link #MAX_TOKEN_LENGTH} байт. Возвращает длину токена.
+     */
+    public int fill(Category category, long index, byte[] target, int offset) {
+        long state = mix(seed ^ mix(index * GOLDEN_GAMMA + category.ordinal()));
+        switch (category) {
+            case VALID:
+                fillValid(index, state, target, offset);
+                return TokenGenerator.TOKEN_LENGTH;
+            case TOO_LONG: {
+                fillValid(index, state, target, offset);
+                int length = TokenGenerator.TOKEN_LENGTH + 1 + (int) ((state >>> 40) & 7);
+                fillRandom(ALPHABET, state + 1, target, offset + TokenGenerator.TOKEN_LENGTH,
+                        length - TokenGenerator.TOKEN_LENGTH);
+                return length;
+            }
+            case TOO_SHORT: {
+                fillValid(index, state, target, offset);
+                return 1 + (int) Long.remainderUnsigned(state, TokenGenerator.TOKEN_LENGTH - 1);
+            }
+            case DIGITS_ONLY:
+                fillRandom(DIGITS, state, target, offset, TokenGenerator.TOKEN_LENGTH);
+                return TokenGenerator.TOKEN_LENGTH;
+            case UPPERCASE_ONLY:
+                fillRandom(LETTERS, state, target, offset, TokenGenerator.TOKEN_LENGTH);
+                return TokenGenerator.TOKEN_LENGTH;
+            case MIXED_CASE:
+                fillValid(index, state, target, offset);
+                lowerCaseRandom(state, target, offset);
+                return TokenGenerator.TOKEN_LENGTH;
+            case INVALID_CHARS:
+                fillValid(index, state, target, offset);
+                insertInvalidRandom(state, target, offset);
+                return TokenGenerator.TOKEN_LENGTH;
+            case EMPTY:
+                return 0;
+            default:
+                throw new IllegalArgumentException("Неизвестная категория токена: " + category);
+        }
+    }
+
+    /**
+     * Записывает тело формы {@code token=...&action=...} в {@code target} и возвращает его длину.
+     * {@code action} должен состоять из символов, не требующих экранирования.
+     */
+    public int fillFormBody(Category category, long index, byte[] action, byte[] target) {
+        System.arraycopy(TOKEN_PARAM, 0, target, 0, TOKEN_PARAM.length);
+        int length = TOKEN_PARAM.length + fill(category, index, target, TOKEN_PARAM.length);
+        System.arraycopy(ACTION_PARAM, 0, target, length, ACTION_PARAM.length);
+        length += ACTION_PARAM.length;
+        System.arraycopy(action, 0, target, length, action.length);
+        return length + action.length;
+    }
+
+    public static int maxFormBodyLength(int actionLength) {
+        return TOKEN_PARAM.length + MAX_TOKEN_LENGTH + ACTION_PARAM.length + actionLength;
+    }
+
+    public String token(Category category, long index) {
+        byte[] buffer = new byte[MAX_TOKEN_LENGTH];
+        int length = fill(category, index, buffer, 0);
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private void fillValid(long index, long state, byte[] target, int offset) {
+        long unique = mix(seed + index * GOLDEN_GAMMA);
+        long quotient = Long.divideUnsigned(unique, ALPHABET.length);
+        int digit = (int) (unique - quotient * ALPHABET.length);
+        int digitSum = digit;
+        target[offset + UNIQUE_PREFIX_LENGTH - 1] = ALPHABET[digit];
+        for (int i = UNIQUE_PREFIX_LENGTH - 2; i > 0; i--) {
+            digit = (int) (quotient % ALPHABET.length);
+            digitSum += digit;
+            target[offset + i] = ALPHABET[digit];
+            quotient /= ALPHABET.length;
+        }
+        // старший разряд принимает лишь 4 значения; сдвиг на сумму остальных разрядов сохраняет биекцию
+        target[offset] = ALPHABET[(int) ((quotient + digitSum) % ALPHABET.length)];
+        target[offset + UNIQUE_PREFIX_LENGTH] = LETTERS[bounded(state, LETTERS.length)];
+        target[offset + UNIQUE_PREFIX_LENGTH + 1] = DIGITS[bounded(state >>> 32, DIGITS.length)];
+        fillRandom(ALPHABET, state, target, offset + UNIQUE_PREFIX_LENGTH + 2,
+                TokenGenerator.TOKEN_LENGTH - UNIQUE_PREFIX_LENGTH - 2);
+    }
+
+    private static void fillRandom(byte[] symbols, long state, byte[] target, int offset, int length) {
+        long random = state;
+        for (int i = 0; i < length; i += 2) {
+            random = mix(random + GOLDEN_GAMMA);
+            target[offset + i] = symbols[bounded(random, symbols.length)];
+            if (i + 1 < length) {
+                target[offset + i + 1] = symbols[bounded(random >>> 32, symbols.length)];
+            }
+        }
+    }
+
+    private static void lowerCaseRandom(long state, byte[] target, int offset) {
+        long mask = mix(state ^ GOLDEN_GAMMA) | 1L << UNIQUE_PREFIX_LENGTH;
+        for (int i = 0; i < TokenGenerator.TOKEN_LENGTH; i++) {
+            byte symbol = target[offset + i];
+            if ((mask >>> i & 1) == 1 && symbol >= 'A' && symbol <= 'Z') {
+                target[offset + i] = (byte) (symbol | 0x20);
+            }
+        }
+    }
+
+    private static void insertInvalidRandom(long state, byte[] target, int offset) {
+        long mask = mix(state ^ GOLDEN_GAMMA) | 1L << UNIQUE_PREFIX_LENGTH;
+        long random = mix(mask);
+        for (int i = 0; i < TokenGenerator.TOKEN_LENGTH; i++) {
+            if ((mask >>> i & 1) == 1) {
+                target[offset + i] = INVALID_CHARS[(int) (random >>> 2 * i & 3)];
+            }
+        }
+    }
+
+    private static int bounded(long random, int bound) {
+        return (int) (((random & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    /** Финализатор SplitMix64 - биекция на long. */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,83 @@
+package api_tests.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Корпус токенов TokenCorpus")
+class TokenCorpusTest {
+
+    private static final int SAMPLE = 200_000;
+    private static final long SEED = 42;
+
+    private final TokenCorpus corpus = new TokenCorpus(SEED);
+
+    @Test
+    @DisplayName("Валидные токены различны на диапазоне индексов, включая края long")
+    void validTokensAreUnique() {
+        Set<String> tokens = new HashSet<>(4 * SAMPLE);
+        for (long index = 0; index < SAMPLE; index++) {
+            assertTrue(tokens.add(corpus.token(TokenCorpus.Category.VALID, index)), "Повтор токена, индекс " + index);
+        }
+        for (long index = Long.MAX_VALUE - SAMPLE; index < Long.MAX_VALUE; index++) {
+            assertTrue(tokens.add(corpus.token(TokenCorpus.Category.VALID, index)), "Повтор токена, индекс " + index);
+        }
+        for (long index = Long.MIN_VALUE; index < Long.MIN_VALUE + SAMPLE; index++) {
+            assertTrue(tokens.add(corpus.token(TokenCorpus.Category.VALID, index)), "Повтор токена, индекс " + index);
+        }
+    }
+
+    @Test
+    @DisplayName("Токен определяется seed, категорией и индексом")
+    void tokensAreDeterministic() {
+        TokenCorpus same = new TokenCorpus(SEED);
+        TokenCorpus other = new TokenCorpus(SEED + 1);
+        for (long index = 0; index < 1_000; index++) {
+            String token = corpus.token(TokenCorpus.Category.VALID, index);
+            assertEquals(token, same.token(TokenCorpus.Category.VALID, index));
+            assertNotEquals(token, other.token(TokenCorpus.Category.VALID, index));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(TokenCorpus.Category.class)
+    @DisplayName("Каждый токен категории соответствует ее определению")
+    void tokensMatchCategory(TokenCorpus.Category category) {
+        for (long index = 0; index < SAMPLE / 10; index++) {
+            String token = corpus.token(category, index);
+            assertTrue(matches(category, token), () -> String.format("%s: %s", category, token));
+        }
+    }
+
+    @Test
+    @DisplayName("Тело формы совпадает с token=...&action=...")
+    void formBodyMatchesToken() {
+        byte[] action = "LOGIN".getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[TokenCorpus.maxFormBodyLength(action.length)];
+        for (TokenCorpus.Category category : TokenCorpus.Category.values()) {
+            int length = corpus.fillFormBody(category, 7, action, body);
+            assertEquals("token=" + corpus.token(category, 7) + "&action=LOGIN",
+                    new String(body, 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static boolean matches(TokenCorpus.Category category, String token) {
+        return switch (category) {
+            case VALID -> token.matches("[A-Z0-9]{32}") && token.matches(".*[A-Z].*") && token.matches(".*\\d.*");
+            case TOO_LONG -> token.matches("[A-Z0-9]{33," + TokenCorpus.MAX_TOKEN_LENGTH + "}");
+            case TOO_SHORT -> token.matches("[A-Z0-9]{1,31}");
+            case DIGITS_ONLY -> token.matches("\\d{32}");
+            case UPPERCASE_ONLY -> token.matches("[A-Z]{32}");
+            case MIXED_CASE -> token.matches("[A-Za-z0-9]{32}") && token.matches(".*[a-z].*");
+            case INVALID_CHARS -> token.length() == 32 && token.matches(".*[^A-Za-z0-9].*");
+            case EMPTY -> token.isEmpty();
+        };
+    }
+}
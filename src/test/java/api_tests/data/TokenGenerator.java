@@ -0,0 +1,31 @@
+package api_tests.data;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class TokenGenerator {
+
+    public static final int TOKEN_LENGTH = 32;
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    private TokenGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /** Случайный токен A-Z0-9, содержащий хотя бы одну букву и одну цифру. */
+    public static String validToken() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] token = new char[TOKEN_LENGTH];
+        boolean hasLetter;
+        boolean hasDigit;
+        do {
+            hasLetter = false;
+            hasDigit = false;
+            for (int i = 0; i < TOKEN_LENGTH; i++) {
+                token[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+                hasLetter |= Character.isLetter(token[i]);
+                hasDigit |= Character.isDigit(token[i]);
+            }
+        } while (!hasLetter || !hasDigit);
+        return new String(token);
+    }
+}
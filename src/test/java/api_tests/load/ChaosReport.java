@@ -0,0 +1,150 @@
+package api_tests.load;
+
+import configs.ChaosTimeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Восстановление пропускной способности после фаз сбоев {@link ChaosTimeline}. Идущие подряд фазы сбоев
+ * рассматриваются как один отрезок {@link FaultRun}: восстановление отсчитывается только от конца последней из них.
+ * Базовый уровень отрезка - медиана числа успешных ответов в секунду во второй половине ближайшей предшествующей
+ * фазы без сбоев: медиана не учитывает всплески, когда сервис разбирает накопившиеся запросы. Время восстановления -
+ * число секунд от конца отрезка сбоев до начала первых {@link #SUSTAINED_SECONDS} секунд подряд, в каждой из которых
+ * успешных ответов не меньше {@code recoveryThreshold} от базового уровня; -1, если этого не произошло до следующего
+ * отрезка сбоев или конца расписания. Одиночная секунда над порогом сразу после сбоя - обычно тот же всплеск,
+ * а не восстановление.
+ */
+public record ChaosReport(List<ChaosTimeline.Phase> phases, long[] successes, long[] failures,
+                          double recoveryThreshold) {
+
+    public static final int SUSTAINED_SECONDS = 3;
+
+    /** Фазы сбоев с {@code firstIndex} по {@code lastIndex} включительно, без фаз без сбоев между ними. */
+    public record FaultRun(int firstIndex, int lastIndex, String spec, double baseline, long minSuccesses,
+                           double errorRate, int recoverySeconds) {
+        public boolean recovered() {
+            return recoverySeconds >= 0;
+        }
+
+        /** Номера фаз с единицы: {@code 2} или {@code 2-3}. */
+        public String phaseNumbers() {
+            return firstIndex == lastIndex ? String.valueOf(firstIndex + 1)
+                    : String.format("%d-%d", firstIndex + 1, lastIndex + 1);
+        }
+    }
+
+    public static ChaosReport of(List<ChaosTimeline.Phase> phases, ThroughputSeries series, double recoveryThreshold) {
+        int seconds = (int) phases.stream().mapToLong(phase -> phase.duration().toSeconds()).sum();
+        return new ChaosReport(List.copyOf(phases), series.successes(seconds), series.failures(seconds),
+                recoveryThreshold);
+    }
+
+    public List<FaultRun> faultRuns() {
+        int[] starts = phaseStarts();
+        List<FaultRun> result = new ArrayList<>();
+        int first = 0;
+        while (first < phases.size()) {
+            if (!phases.get(first).faulty()) {
+                first++;
+                continue;
+            }
+            int last = first;
+            while (last + 1 < phases.size() && phases.get(last + 1).faulty()) {
+                last++;
+            }
+            int start = starts[first];
+            int end = starts[last + 1];
+            long succeeded = sum(successes, start, end);
+            long failed = sum(failures, start, end);
+            double baseline = baseline(first, starts);
+            String spec = phases.subList(first, last + 1).stream().map(ChaosTimeline.Phase::spec)
+                    .collect(Collectors.joining(" -> "));
+            result.add(new FaultRun(first, last, spec, baseline, Arrays.stream(successes, start, end).min().orElse(0),
+                    succeeded + failed == 0 ? 0.0 : (double) failed / (succeeded + failed),
+                    recoverySeconds(end, nextFaultStart(last, starts), baseline)));
+            first = last + 1;
+        }
+        return result;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%4s %-45s %12s %10s %8s %16s%n", "фаза", "сбои", "база, усп./с",
+                "минимум", "ошибки", "восстановление"));
+        for (FaultRun fault : faultRuns()) {
+            String baseline = Double.isNaN(fault.baseline()) ? "н/д" : String.format("%.1f", fault.baseline());
+            summary.append(String.format("%4s %-45s %12s %10d %7.1f%% %16s%n", fault.phaseNumbers(),
+                    fault.spec(), baseline, fault.minSuccesses(), fault.errorRate() * 100,
+                    fault.recovered() ? fault.recoverySeconds() + " с" : "нет"));
+        }
+        summary.append(String.format("Восстановление - %d с подряд не ниже %.0f%% базового уровня успешных ответов%n",
+                SUSTAINED_SECONDS, recoveryThreshold * 100));
+        return summary.toString();
+    }
+
+    public String csv() {
+        int[] starts = phaseStarts();
+        StringBuilder csv = new StringBuilder("second,phase,faults,successes,failures\n");
+        int phase = 0;
+        for (int second = 0; second < successes.length; second++) {
+            while (second >= starts[phase + 1]) {
+                phase++;
+            }
+            csv.append(String.format(Locale.ROOT, "%d,%d,%s,%d,%d%n", second, phase + 1,
+                    phases.get(phase).spec().replace(',', ' '), successes[second], failures[second]));
+        }
+        return csv.toString();
+    }
+
+    /** Начало каждой фазы в секундах от старта расписания; последний элемент - конец расписания. */
+    private int[] phaseStarts() {
+        int[] starts = new int[phases.size() + 1];
+        for (int i = 0; i < phases.size(); i++) {
+            starts[i + 1] = starts[i] + (int) phases.get(i).duration().toSeconds();
+        }
+        return starts;
+    }
+
+    private double baseline(int faultIndex, int[] starts) {
+        for (int i = faultIndex - 1; i >= 0; i--) {
+            if (!phases.get(i).faulty()) {
+                long[] window = Arrays.copyOfRange(successes, (starts[i] + starts[i + 1]) / 2, starts[i + 1]);
+                Arrays.sort(window);
+                return window.length % 2 == 1 ? window[window.length / 2]
+                        : (window[window.length / 2 - 1] + window[window.length / 2]) / 2.0;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private int nextFaultStart(int lastFaultIndex, int[] starts) {
+        for (int i = lastFaultIndex + 1; i < phases.size(); i++) {
+            if (phases.get(i).faulty()) {
+                return starts[i];
+            }
+        }
+        return successes.length;
+    }
+
+    private int recoverySeconds(int from, int to, double baseline) {
+        if (Double.isNaN(baseline)) {
+            return -1;
+        }
+        int sustained = 0;
+        for (int second = from; second < to; second++) {
+            sustained = successes[second] >= baseline * recoveryThreshold ? sustained + 1 : 0;
+            if (sustained == SUSTAINED_SECONDS) {
+                return second - SUSTAINED_SECONDS + 1 - from;
+            }
+        }
+        return -1;
+    }
+
+    private static long sum(long[] values, int from, int to) {
+        return Arrays.stream(values, from, to).sum();
+    }
+}
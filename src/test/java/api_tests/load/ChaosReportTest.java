@@ -0,0 +1,118 @@
+package api_tests.load;
+
+import configs.ChaosTimeline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Отчет о восстановлении после сбоев ChaosReport")
+class ChaosReportTest {
+
+    private static final double THRESHOLD = 0.9;
+
+    @Test
+    @DisplayName("Одиночный всплеск после сбоя не считается восстановлением")
+    void singleFaultPhase() {
+        ChaosReport report = report("4|none;2|/doAction=error:503:1;5|none",
+                new long[]{100, 100, 100, 100, 10, 10, 100, 40, 95, 95, 95},
+                new long[]{0, 0, 0, 0, 90, 90, 0, 0, 0, 0, 0});
+
+        ChaosReport.FaultRun fault = single(report);
+        assertEquals("2", fault.phaseNumbers());
+        assertEquals(100.0, fault.baseline());
+        assertEquals(10, fault.minSuccesses());
+        assertEquals(0.9, fault.errorRate(), 1e-9);
+        assertTrue(fault.recovered());
+        assertEquals(2, fault.recoverySeconds());
+    }
+
+    @Test
+    @DisplayName("Фазы сбоев подряд - один отрезок, восстановление от конца последней фазы")
+    void consecutiveFaultPhases() {
+        ChaosReport report = report("4|none;2|/doAction=error:503:1;2|/auth=reset:1;4|none",
+                new long[]{100, 100, 100, 100, 10, 10, 0, 0, 95, 95, 95, 95},
+                new long[12]);
+
+        ChaosReport.FaultRun fault = single(report);
+        assertEquals(1, fault.firstIndex());
+        assertEquals(2, fault.lastIndex());
+        assertEquals("2-3", fault.phaseNumbers());
+        assertEquals("/doAction=error:503:1 -> /auth=reset:1", fault.spec());
+        assertEquals(100.0, fault.baseline());
+        assertEquals(0, fault.minSuccesses());
+        assertEquals(0, fault.recoverySeconds());
+    }
+
+    @Test
+    @DisplayName("Восстановление ищется только до следующего отрезка сбоев, база - предшествующая фаза без сбоев")
+    void recoveryBoundedByNextFault() {
+        ChaosReport report = report("4|none;1|/doAction=error:503:1;3|none;1|/auth=reset:1;3|none",
+                new long[]{100, 100, 100, 100, 0, 50, 50, 50, 0, 50, 50, 50},
+                new long[12]);
+
+        List<ChaosReport.FaultRun> faults = report.faultRuns();
+        assertEquals(2, faults.size());
+        assertFalse(faults.get(0).recovered());
+        assertEquals(-1, faults.get(0).recoverySeconds());
+        assertEquals(50.0, faults.get(1).baseline());
+        assertEquals(0, faults.get(1).recoverySeconds());
+    }
+
+    @Test
+    @DisplayName("Восстановление не засчитывается, если до конца расписания меньше SUSTAINED_SECONDS секунд")
+    void tooShortTail() {
+        ChaosReport report = report("4|none;2|/doAction=error:503:1;2|none",
+                new long[]{100, 100, 100, 100, 0, 0, 100, 100},
+                new long[8]);
+
+        assertEquals(-1, single(report).recoverySeconds());
+    }
+
+    @Test
+    @DisplayName("Без предшествующей фазы без сбоев базовый уровень не определен")
+    void noBaseline() {
+        ChaosReport report = report("2|/doAction=error:503:1;4|none",
+                new long[]{0, 0, 100, 100, 100, 100},
+                new long[6]);
+
+        ChaosReport.FaultRun fault = single(report);
+        assertTrue(Double.isNaN(fault.baseline()));
+        assertFalse(fault.recovered());
+        assertTrue(report.summary().contains("н/д"), report.summary());
+    }
+
+    @Test
+    @DisplayName("Ряд из ThroughputSeries обрезается по длительности расписания")
+    void fromThroughputSeries() {
+        List<ChaosTimeline.Phase> phases = ChaosTimeline.parse("2|none;1|/doAction=error:503:1;3|none");
+        ThroughputSeries series = new ThroughputSeries(0);
+        long[] successes = {10, 10, 0, 10, 10, 10, 99};
+        for (int second = 0; second < successes.length; second++) {
+            for (int i = 0; i < successes[second]; i++) {
+                series.record(TimeUnit.SECONDS.toNanos(second) + i, true);
+            }
+        }
+        series.record(TimeUnit.SECONDS.toNanos(2), false);
+
+        ChaosReport report = ChaosReport.of(phases, series, THRESHOLD);
+
+        assertArrayEquals(new long[]{10, 10, 0, 10, 10, 10}, report.successes());
+        assertArrayEquals(new long[]{0, 0, 1, 0, 0, 0}, report.failures());
+        assertEquals(1.0, single(report).errorRate());
+        assertEquals(0, single(report).recoverySeconds());
+    }
+
+    private static ChaosReport report(String timeline, long[] successes, long[] failures) {
+        return new ChaosReport(ChaosTimeline.parse(timeline), successes, failures, THRESHOLD);
+    }
+
+    private static ChaosReport.FaultRun single(ChaosReport report) {
+        List<ChaosReport.FaultRun> faults = report.faultRuns();
+        assertEquals(1, faults.size(), report.summary());
+        return faults.get(0);
+    }
+}
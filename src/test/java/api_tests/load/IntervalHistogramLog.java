@@ -0,0 +1,76 @@
+package api_tests.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Журнал интервальных гистограмм в стандартном формате HdrHistogram (.hlog): раз в интервал гистограмма каждого
+ * тега (action) за прошедший интервал пишется отдельной строкой. Значения в микросекундах; журнал читается
+ * HistogramLogReader и HistogramLogProcessor, интервалы можно объединять между прогонами.
+ */
+class IntervalHistogramLog implements AutoCloseable {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final HistogramLogWriter writer;
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final long startMillis;
+
+    IntervalHistogramLog(Path file, Duration interval) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            writer = new HistogramLogWriter(file.toFile());
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось создать журнал гистограмм: %s", file);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+        startMillis = System.currentTimeMillis();
+        writer.outputLogFormatVersion();
+        writer.outputStartTime(startMillis);
+        writer.setBaseTime(startMillis);
+        writer.outputLegend();
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("hdr-log").daemon().factory());
+        flusher.scheduleAtFixedRate(this::flush, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void record(String tag, long micros) {
+        recorders.computeIfAbsent(tag, key -> new Recorder(SIGNIFICANT_DIGITS)).recordValue(micros);
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        writer.close();
+    }
+
+    private synchronized void flush() {
+        recorders.forEach((tag, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            if (interval.getTotalCount() > 0) {
+                interval.setTag(tag);
+                writer.outputIntervalHistogram((interval.getStartTimeStamp() - startMillis) / 1000.0,
+                        (interval.getEndTimeStamp() - startMillis) / 1000.0, interval, MICROS_PER_MILLI);
+            }
+        });
+    }
+}
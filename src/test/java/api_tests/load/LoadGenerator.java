@@ -0,0 +1,85 @@
+package api_tests.load;
+
+import api_tests.client.ApiClient;
+import api_tests.data.TokenCorpus;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Генератор нагрузки по открытой модели ({@link OpenModelScheduler}): сессии LOGIN → ACTION → LOGOUT
+ * запускаются с постоянной интенсивностью независимо от времени ответа сервиса, каждая - в своем виртуальном потоке.
+ */
+public class LoadGenerator {
+
+    private static final String[] SESSION_ACTIONS = {Actions.LOGIN, Actions.ACTION, Actions.LOGOUT};
+
+    private final ApiClient apiClient;
+    private final double sessionsPerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final TokenCorpus tokens;
+
+    public LoadGenerator(ApiClient apiClient, double sessionsPerSecond, Duration duration, int maxInFlight) {
+        this(apiClient, sessionsPerSecond, duration, maxInFlight, new TokenCorpus(ThreadLocalRandom.current().nextLong()));
+    }
+
+    public LoadGenerator(ApiClient apiClient, double sessionsPerSecond, Duration duration, int maxInFlight,
+                         TokenCorpus tokens) {
+        if (sessionsPerSecond <= 0) {
+            throw new IllegalArgumentException("Интенсивность должна быть положительной: " + sessionsPerSecond);
+        }
+        this.apiClient = apiClient;
+        this.sessionsPerSecond = sessionsPerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.tokens = tokens;
+    }
+
+    public LoadReport run() {
+        try (LoadMetrics metrics = new LoadMetrics()) {
+            return run(metrics);
+        }
+    }
+
+    public LoadReport run(LoadMetrics metrics) {
+        OpenModelScheduler.Result result = new OpenModelScheduler(maxInFlight).run(sessionsPerSecond, duration,
+                (sessionIndex, intendedStart) -> runSession(apiClient, metrics,
+                        tokens.token(TokenCorpus.Category.VALID, sessionIndex), intendedStart));
+        return metrics.snapshot(result.elapsed(), result.started(), result.dropped());
+    }
+
+    /**
+     * Сессия LOGIN → ACTION → LOGOUT до первого неуспешного ответа. LOGIN запланирован на {@code intendedStartNanos},
+     * каждый следующий запрос - на момент получения предыдущего ответа.
+     */
+    static void runSession(ApiClient apiClient, LoadMetrics metrics, String token, long intendedStartNanos) {
+        long intendedNanos = intendedStartNanos;
+        for (String action : SESSION_ACTIONS) {
+            intendedNanos = send(apiClient, metrics, token, action, intendedNanos);
+            if (intendedNanos < 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Возвращает момент получения успешного ответа или -1, если ответ неуспешный.
+     */
+    static long send(ApiClient apiClient, LoadMetrics metrics, String token, String action, long intendedNanos) {
+        long sendNanos = System.nanoTime();
+        try {
+            Response response = apiClient.sendPostRequestWithBodyParams(token, action);
+            long receiveNanos = System.nanoTime();
+            int statusCode = response.getStatusCode();
+            metrics.recordResponse(action, statusCode, intendedNanos, sendNanos, receiveNanos);
+            return statusCode == StatusCodes.OK ? receiveNanos : -1;
+        } catch (Exception e) {
+            metrics.recordTransportError(action, e, intendedNanos, sendNanos, System.nanoTime());
+            return -1;
+        }
+    }
+}
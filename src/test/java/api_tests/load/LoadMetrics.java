@@ -0,0 +1,106 @@
+package api_tests.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static api_tests.constants.ApiConstants.StatusCodes;
+
+/**
+ * Метрики нагрузки. Для каждого ответа пишутся две задержки: время обслуживания (от фактической отправки)
+ * и время отклика от запланированного момента отправки. Вторая не теряет время, которое запрос провел
+ * в ожидании отправки из-за медленных предыдущих ответов (coordinated omission). Запросы, завершившиеся ошибкой
+ * соединения (таймаут, сброс), попадают в те же гистограммы со временем до ошибки: иначе самые медленные исходы
+ * выпадали бы из перцентилей.
+ */
+public class LoadMetrics implements AutoCloseable {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, ConcurrentHistogram> latencyByAction = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentHistogram> correctedLatencyByAction = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> transportErrors = new ConcurrentHashMap<>();
+    private final IntervalHistogramLog intervalLog;
+    private final ThroughputSeries throughput;
+
+    public LoadMetrics() {
+        this.intervalLog = null;
+        this.throughput = null;
+    }
+
+    /**
+     * Дополнительно пишет скорректированные задержки по action в журнал {@code logFile} в формате .hlog
+     * с интервалом {@code logInterval}.
+     */
+    public LoadMetrics(Path logFile, Duration logInterval) {
+        this.intervalLog = new IntervalHistogramLog(logFile, logInterval);
+        this.throughput = null;
+    }
+
+    /**
+     * Дополнительно раскладывает ответы и ошибки соединения по секундам в {@code throughput}.
+     */
+    public LoadMetrics(ThroughputSeries throughput) {
+        this.intervalLog = null;
+        this.throughput = throughput;
+    }
+
+    public void recordResponse(String action, int statusCode, long intendedNanos, long sendNanos, long receiveNanos) {
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        recordLatency(action, intendedNanos, sendNanos, receiveNanos);
+        if (throughput != null) {
+            throughput.record(receiveNanos, statusCode == StatusCodes.OK);
+        }
+    }
+
+    public void recordTransportError(String action, Throwable error, long intendedNanos, long sendNanos,
+                                     long failNanos) {
+        transportErrors.computeIfAbsent(action + ": " + error.getClass().getSimpleName(), key -> new LongAdder())
+                .increment();
+        recordLatency(action, intendedNanos, sendNanos, failNanos);
+        if (throughput != null) {
+            throughput.record(failNanos, false);
+        }
+    }
+
+    private void recordLatency(String action, long intendedNanos, long sendNanos, long receiveNanos) {
+        latencyByAction.computeIfAbsent(action, name -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(TimeUnit.NANOSECONDS.toMicros(receiveNanos - sendNanos));
+        long correctedMicros = TimeUnit.NANOSECONDS.toMicros(receiveNanos - Math.min(intendedNanos, sendNanos));
+        correctedLatencyByAction.computeIfAbsent(action, name -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(correctedMicros);
+        if (intervalLog != null) {
+            intervalLog.record(action, correctedMicros);
+        }
+    }
+
+    public LoadReport snapshot(Duration elapsed, long sessionsStarted, long sessionsDropped) {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((code, count) -> statuses.put(code, count.sum()));
+        Map<String, Long> errors = new TreeMap<>();
+        transportErrors.forEach((key, count) -> errors.put(key, count.sum()));
+        return new LoadReport(elapsed, sessionsStarted, sessionsDropped, statuses, errors,
+                copy(latencyByAction), copy(correctedLatencyByAction));
+    }
+
+    @Override
+    public void close() {
+        if (intervalLog != null) {
+            intervalLog.close();
+        }
+    }
+
+    private static Map<String, Histogram> copy(Map<String, ConcurrentHistogram> histograms) {
+        Map<String, Histogram> copies = new TreeMap<>();
+        histograms.forEach((action, histogram) -> copies.put(action, histogram.copy()));
+        return copies;
+    }
+}
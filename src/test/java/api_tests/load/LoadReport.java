@@ -0,0 +1,95 @@
+package api_tests.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static api_tests.constants.ApiConstants.StatusCodes;
+
+public record LoadReport(Duration elapsed,
+                         long sessionsStarted,
+                         long sessionsDropped,
+                         Map<Integer, Long> statusCounts,
+                         Map<String, Long> transportErrors,
+                         Map<String, Histogram> latencyByAction,
+                         Map<String, Histogram> correctedLatencyByAction) {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    public long totalRequests() {
+        return statusCounts.values().stream().mapToLong(Long::longValue).sum() + transportErrorCount();
+    }
+
+    public long transportErrorCount() {
+        return transportErrors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long errorCount() {
+        long failedStatuses = statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() != StatusCodes.OK)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return failedStatuses + transportErrorCount();
+    }
+
+    public double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0.0 : (double) errorCount() / total;
+    }
+
+    public double throughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0.0 : totalRequests() / seconds;
+    }
+
+    public Histogram totalLatency() {
+        return merge(latencyByAction);
+    }
+
+    public Histogram totalCorrectedLatency() {
+        return merge(correctedLatencyByAction);
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Длительность: %.1f с%n", elapsed.toMillis() / 1000.0));
+        summary.append(String.format("Сессий запущено: %d, отброшено: %d%n", sessionsStarted, sessionsDropped));
+        summary.append(String.format("Запросов: %d, пропускная способность: %.1f req/s%n",
+                totalRequests(), throughput()));
+        summary.append(String.format("Ошибок: %d (%.3f%%)%n", errorCount(), errorRate() * 100));
+        summary.append("Статус-коды:").append(System.lineSeparator());
+        statusCounts.forEach((code, count) -> summary.append(String.format("  %d: %d%n", code, count)));
+        if (!transportErrors.isEmpty()) {
+            summary.append("Ошибки соединения:").append(System.lineSeparator());
+            transportErrors.forEach((key, count) -> summary.append(String.format("  %s: %d%n", key, count)));
+        }
+        summary.append("Время обслуживания (от фактической отправки), мс:").append(System.lineSeparator());
+        latencyByAction.forEach((action, histogram) -> appendLatency(summary, action, histogram));
+        appendLatency(summary, "TOTAL", totalLatency());
+        summary.append("Время отклика (от запланированной отправки, с поправкой на coordinated omission), мс:")
+                .append(System.lineSeparator());
+        correctedLatencyByAction.forEach((action, histogram) -> appendLatency(summary, action, histogram));
+        appendLatency(summary, "TOTAL", totalCorrectedLatency());
+        return summary.toString();
+    }
+
+    private static Histogram merge(Map<String, Histogram> histograms) {
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    private static void appendLatency(StringBuilder summary, String name, Histogram histogram) {
+        summary.append(String.format("  %-8s n=%d", name, histogram.getTotalCount()));
+        for (double percentile : PERCENTILES) {
+            summary.append(String.format(" p%s=%.2f", formatPercentile(percentile),
+                    histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        summary.append(String.format(" max=%.2f%n", histogram.getMaxValue() / 1000.0));
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+}
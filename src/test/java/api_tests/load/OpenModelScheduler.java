@@ -0,0 +1,105 @@
+package api_tests.load;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Открытая модель: задачи запускаются в запланированные моменты независимо от времени ответа сервиса, каждая -
+ * в своем виртуальном потоке. Если в полете уже {@code maxInFlight} задач, очередная отбрасывается и учитывается
+ * в {@link Result#dropped()}. Момент, переданный задаче, - запланированный, а не фактический: от него считаются
+ * задержки с поправкой на coordinated omission. Прерывание потока останавливает планирование.
+ */
+public class OpenModelScheduler {
+
+    private final int maxInFlight;
+
+    public OpenModelScheduler(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Задача тика с постоянной интенсивностью; {@code index} - номер среди запущенных (не отброшенных) тиков. */
+    @FunctionalInterface
+    public interface Tick {
+        void run(long index, long intendedNanos);
+    }
+
+    /** Задача тика по элементу расписания. */
+    @FunctionalInterface
+    public interface ItemTick<T> {
+        void run(T item, long index, long intendedNanos);
+    }
+
+    public record Result(long started, long dropped, Duration elapsed) {
+    }
+
+    /** Тики с интенсивностью {@code ticksPerSecond} в течение {@code duration}. */
+    public Result run(double ticksPerSecond, Duration duration, Tick task) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Интенсивность должна быть положительной: " + ticksPerSecond);
+        }
+        long intervalNanos = (long) (1_000_000_000L / ticksPerSecond);
+        long durationNanos = duration.toNanos();
+        Iterator<Long> offsets = LongStream.iterate(0, offset -> offset + intervalNanos)
+                .takeWhile(offset -> offset < durationNanos)
+                .iterator();
+        return run(offsets, (first, offset) -> offset - first,
+                (offset, index, intendedNanos) -> task.run(index, intendedNanos));
+    }
+
+    /**
+     * Тик на каждый элемент {@code items}; элемент запускается через {@code offsetNanos(первый, элемент)} от старта.
+     * Элементы читаются по одному, поэтому расписание может быть длиннее, чем помещается в память.
+     */
+    public <T> Result run(Iterator<T> items, ToLongBiFunction<T, T> offsetNanos, ItemTick<T> task) {
+        AtomicInteger inFlight = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        long started = 0;
+        long dropped = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            T first = null;
+            while (items.hasNext()) {
+                T item = items.next();
+                if (first == null) {
+                    first = item;
+                }
+                long intendedNanos = startNanos + offsetNanos.applyAsLong(first, item);
+                if (!parkUntil(intendedNanos)) {
+                    break;
+                }
+                if (inFlight.incrementAndGet() > maxInFlight) {
+                    inFlight.decrementAndGet();
+                    dropped++;
+                    continue;
+                }
+                long index = started++;
+                executor.submit(() -> {
+                    try {
+                        task.run(item, index, intendedNanos);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+        return new Result(started, dropped, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /** Ждет до {@code deadlineNanos} (nanoTime); false, если поток прерван. */
+    static boolean parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package api_tests.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Результаты {@link PopulationSweep} по уровням числа активных сессий. Heap сервиса известен только при запуске
+ * сервиса из тестов; иначе {@code baselineHeapBytes} и {@code retainedHeapBytes} уровней равны -1.
+ */
+public record PopulationReport(long baselineHeapBytes, List<Level> levels, Bulk cleanup) {
+
+    /** Массовая отправка одного action без замера задержек: LOGIN до уровня или LOGOUT всей популяции. */
+    public record Bulk(long requests, long failed, Duration elapsed) {
+        public double throughput() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0.0 : requests / seconds;
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0.0 : (double) failed / requests;
+        }
+    }
+
+    public record Level(long population, Bulk login, long retainedHeapBytes, LoadReport action, LoadReport logout) {
+    }
+
+    public boolean heapMeasured() {
+        return baselineHeapBytes >= 0;
+    }
+
+    /** Прирост удерживаемого heap от пустого хранилища прогретого сервиса, деленный на число сессий уровня. */
+    public double heapBytesPerSession(Level level) {
+        return !heapMeasured() || level.population() == 0 ? 0.0
+                : (double) (level.retainedHeapBytes() - baselineHeapBytes) / level.population();
+    }
+
+    /** Во сколько раз p50 на последнем уровне больше, чем на первом. */
+    public double actionMedianGrowth() {
+        return medianGrowth(levels.get(0).action(), levels.get(levels.size() - 1).action());
+    }
+
+    public double logoutMedianGrowth() {
+        return medianGrowth(levels.get(0).logout(), levels.get(levels.size() - 1).logout());
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%10s %11s %9s %9s %11s %10s %10s %10s %10s%n", "сессий", "LOGIN req/s",
+                "ошибки", "heap, МБ", "байт/сесс.", "ACTION p50", "ACTION p99", "LOGOUT p50", "LOGOUT p99"));
+        for (Level level : levels) {
+            summary.append(String.format("%10d %11.1f %8.3f%% %9s %11s %10.2f %10.2f %10.2f %10.2f%n",
+                    level.population(), level.login().throughput(), level.login().errorRate() * 100,
+                    heapMeasured() ? String.format("%.1f", level.retainedHeapBytes() / (1024.0 * 1024)) : "н/д",
+                    heapMeasured() ? String.format("%.0f", heapBytesPerSession(level)) : "н/д",
+                    latencyMillis(level.action(), 50), latencyMillis(level.action(), 99),
+                    latencyMillis(level.logout(), 50), latencyMillis(level.logout(), 99)));
+        }
+        summary.append(String.format("Рост p50 от первого уровня к последнему: ACTION x%.2f, LOGOUT x%.2f%n",
+                actionMedianGrowth(), logoutMedianGrowth()));
+        if (heapMeasured()) {
+            summary.append(String.format("Heap пустого хранилища: %.1f МБ%n", baselineHeapBytes / (1024.0 * 1024)));
+        }
+        summary.append(String.format("Очистка: LOGOUT %d сессий, %.1f req/s, ошибок %d%n",
+                cleanup.requests(), cleanup.throughput(), cleanup.failed()));
+        return summary.toString();
+    }
+
+    public String csv() {
+        StringBuilder csv = new StringBuilder("population,login_throughput,login_error_rate,retained_heap_bytes," +
+                "action_p50_ms,action_p99_ms,logout_p50_ms,logout_p99_ms\n");
+        for (Level level : levels) {
+            csv.append(String.format(Locale.ROOT, "%d,%.3f,%.6f,%d,%.3f,%.3f,%.3f,%.3f%n", level.population(),
+                    level.login().throughput(), level.login().errorRate(), level.retainedHeapBytes(),
+                    latencyMillis(level.action(), 50), latencyMillis(level.action(), 99),
+                    latencyMillis(level.logout(), 50), latencyMillis(level.logout(), 99)));
+        }
+        return csv.toString();
+    }
+
+    private static double medianGrowth(LoadReport first, LoadReport last) {
+        double firstMedian = latencyMillis(first, 50);
+        return firstMedian == 0 ? 0.0 : latencyMillis(last, 50) / firstMedian;
+    }
+
+    private static double latencyMillis(LoadReport report, double percentile) {
+        Histogram latency = report.totalLatency();
+        return latency.getTotalCount() == 0 ? 0.0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,131 @@
+package api_tests.load;
+
+import api_tests.client.ApiClient;
+import api_tests.client.AsyncApiClient;
+import api_tests.data.TokenCorpus;
+import api_tests.soak.ServiceHeapMonitor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Масштабирование хранилища сессий по числу активных токенов. Популяция доводится LOGIN до каждого уровня
+ * через {@link SessionPopulation}, затем на уровне снимается heap сервиса и замеряются задержки ACTION случайных
+ * токенов популяции и LOGOUT равномерно выбранных токенов через {@link ApiClient}. Токены после замера LOGOUT
+ * снова проходят LOGIN, чтобы популяция не уменьшалась; после последнего уровня, а при ошибке - сразу, все
+ * залогиненные токены выходят LOGOUT, чтобы долгоживущий сервис не оставался с чужой популяцией.
+ * Перед первым уровнем LOGIN, ACTION и LOGOUT в объеме одного замера прогревают JVM обеих сторон; их результаты
+ * отбрасываются, иначе первый уровень дает завышенные задержки и heap, а рост по уровням занижается.
+ */
+public class PopulationSweep {
+
+    private final ApiClient apiClient;
+    private final SessionPopulation sessions;
+    private final List<Integer> populations;
+    private final int probeRequests;
+    private final int probeConcurrency;
+    private final ServiceHeapMonitor heapMonitor;
+
+    /**
+     * {@code heapMonitor} может быть {@code null}, если heap сервиса недоступен.
+     */
+    public PopulationSweep(ApiClient apiClient, AsyncApiClient bulkClient, List<Integer> populations,
+                           int probeRequests, int probeConcurrency, ServiceHeapMonitor heapMonitor) {
+        if (populations.isEmpty()) {
+            throw new IllegalArgumentException("Не заданы уровни числа сессий");
+        }
+        for (int i = 0; i < populations.size(); i++) {
+            if (populations.get(i) <= 0 || i > 0 && populations.get(i) <= populations.get(i - 1)) {
+                throw new IllegalArgumentException(
+                        "Уровни числа сессий должны быть положительными и возрастать: " + populations);
+            }
+        }
+        if (probeRequests <= 0 || probeConcurrency <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Число замеров и потоков должно быть положительным: %d, %d", probeRequests, probeConcurrency));
+        }
+        this.apiClient = apiClient;
+        this.sessions = new SessionPopulation(bulkClient, new TokenCorpus(ThreadLocalRandom.current().nextLong()));
+        this.populations = List.copyOf(populations);
+        this.probeRequests = probeRequests;
+        this.probeConcurrency = probeConcurrency;
+        this.heapMonitor = heapMonitor;
+    }
+
+    public static List<Integer> parseLevels(String levels) {
+        List<Integer> parsed = new ArrayList<>();
+        for (String level : levels.split(",")) {
+            if (!level.isBlank()) {
+                parsed.add(Integer.parseInt(level.trim()));
+            }
+        }
+        return parsed;
+    }
+
+    public PopulationReport run() {
+        List<PopulationReport.Level> levels = new ArrayList<>();
+        long baselineHeap;
+        PopulationReport.Bulk cleanup;
+        // токены популяции - всегда префикс корпуса [0, loggedIn): при ошибке посреди прогона его выводит finally
+        int warmup = Math.min(probeRequests, populations.get(0));
+        long loggedIn = warmup;
+        try {
+            sessions.send(Actions.LOGIN, warmup, i -> i);
+            probe(Actions.ACTION, warmup, i -> i);
+            probe(Actions.LOGOUT, warmup, i -> i);
+            baselineHeap = retainedHeap();
+            long previous = 0;
+            for (int population : populations) {
+                long from = previous;
+                previous = population;
+                loggedIn = population;
+                PopulationReport.Bulk login = sessions.send(Actions.LOGIN, population - from, i -> from + i);
+                long heap = retainedHeap();
+                LoadReport action = probe(Actions.ACTION, probeRequests,
+                        i -> ThreadLocalRandom.current().nextLong(population));
+                int logouts = Math.min(probeRequests, population);
+                LongUnaryOperator spread = i -> i * population / logouts;
+                LoadReport logout = probe(Actions.LOGOUT, logouts, spread);
+                sessions.send(Actions.LOGIN, logouts, spread);
+                levels.add(new PopulationReport.Level(population, login, heap, action, logout));
+            }
+        } finally {
+            cleanup = sessions.send(Actions.LOGOUT, loggedIn, i -> i);
+        }
+        return new PopulationReport(baselineHeap, levels, cleanup);
+    }
+
+    private long retainedHeap() {
+        return heapMonitor == null ? -1 : heapMonitor.sampleNow().retainedBytes();
+    }
+
+    /**
+     * Замер задержек {@code count} запросов {@code action} по закрытой модели в {@code probeConcurrency} потоков:
+     * каждый запрос отправляется сразу после предыдущего ответа своего потока.
+     */
+    private LoadReport probe(String action, long count, LongUnaryOperator index) {
+        LoadMetrics metrics = new LoadMetrics();
+        AtomicLong next = new AtomicLong();
+        long startNanos = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < probeConcurrency; worker++) {
+                executor.submit(() -> {
+                    for (long i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        LoadGenerator.send(apiClient, metrics, sessions.token(index.applyAsLong(i)), action,
+                                System.nanoTime());
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        return metrics.snapshot(elapsed, count, 0);
+    }
+}
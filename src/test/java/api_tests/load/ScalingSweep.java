@@ -0,0 +1,76 @@
+package api_tests.load;
+
+import api_tests.client.ApiClient;
+import api_tests.data.TokenCorpus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Замер насыщения по закрытой модели: на каждом уровне 1, 2, 4, ... maxConcurrency виртуальных потоков
+ * в течение levelDuration без пауз выполняют сессии LOGIN → ACTION → LOGOUT. Перед первым уровнем такой же
+ * по длительности прогон в один поток прогревает JVM и соединения; его результаты отбрасываются.
+ * Модель закрытая: каждый запрос запланирован на момент предыдущего ответа, поэтому обе задержки совпадают.
+ */
+public class ScalingSweep {
+
+    private final ApiClient apiClient;
+    private final int maxConcurrency;
+    private final Duration levelDuration;
+    private final double minThroughputGain;
+    private final TokenCorpus tokens = new TokenCorpus(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong nextToken = new AtomicLong();
+
+    public ScalingSweep(ApiClient apiClient, int maxConcurrency, Duration levelDuration, double minThroughputGain) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Максимальная конкурентность должна быть положительной: " + maxConcurrency);
+        }
+        this.apiClient = apiClient;
+        this.maxConcurrency = maxConcurrency;
+        this.levelDuration = levelDuration;
+        this.minThroughputGain = minThroughputGain;
+    }
+
+    public static List<Integer> levels(int maxConcurrency) {
+        List<Integer> levels = new ArrayList<>();
+        for (int level = 1; level < maxConcurrency; level *= 2) {
+            levels.add(level);
+        }
+        levels.add(maxConcurrency);
+        return levels;
+    }
+
+    public SweepReport run() {
+        runLevel(1);
+        List<SweepReport.Level> results = new ArrayList<>();
+        for (int concurrency : levels(maxConcurrency)) {
+            results.add(new SweepReport.Level(concurrency, runLevel(concurrency)));
+        }
+        return new SweepReport(results, minThroughputGain);
+    }
+
+    private LoadReport runLevel(int concurrency) {
+        LoadMetrics metrics = new LoadMetrics();
+        AtomicLong sessions = new AtomicLong();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + levelDuration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < endNanos) {
+                        sessions.incrementAndGet();
+                        String token = tokens.token(TokenCorpus.Category.VALID, nextToken.getAndIncrement());
+                        LoadGenerator.runSession(apiClient, metrics, token, System.nanoTime());
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        return metrics.snapshot(elapsed, sessions.get(), 0);
+    }
+}
@@ -0,0 +1,58 @@
+package api_tests.load;
+
+import api_tests.client.AsyncApiClient;
+import api_tests.data.TokenCorpus;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongUnaryOperator;
+
+import static api_tests.constants.ApiConstants.StatusCodes;
+
+/**
+ * Популяция сессий с валидными токенами корпуса по индексам 0, 1, 2, ... Массовые LOGIN и LOGOUT идут через
+ * {@link AsyncApiClient} (keep-alive, без замера задержек). Новый запрос создается только после ответа на один из
+ * предыдущих, поэтому и в полете, и в памяти теста их не больше лимита клиента - даже при миллионе токенов.
+ */
+public class SessionPopulation {
+
+    private final AsyncApiClient client;
+    private final TokenCorpus tokens;
+
+    public SessionPopulation(AsyncApiClient client, TokenCorpus tokens) {
+        this.client = client;
+        this.tokens = tokens;
+    }
+
+    public String token(long index) {
+        return tokens.token(TokenCorpus.Category.VALID, index);
+    }
+
+    /**
+     * {@code count} запросов {@code action} с токенами {@code index(0..count-1)}; возвращается после всех ответов.
+     */
+    public PopulationReport.Bulk send(String action, long count, LongUnaryOperator index) {
+        int limit = client.getMaxInFlight();
+        Semaphore permits = new Semaphore(limit);
+        LongAdder failed = new LongAdder();
+        long startNanos = System.nanoTime();
+        try {
+            for (long i = 0; i < count; i++) {
+                permits.acquire();
+                client.sendPostRequestWithBodyParams(token(index.applyAsLong(i)), action)
+                        .whenComplete((response, error) -> {
+                            if (error != null || response.getStatusCode() != StatusCodes.OK) {
+                                failed.increment();
+                            }
+                            permits.release();
+                        });
+            }
+            permits.acquire(limit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание ответов " + action + " прервано", e);
+        }
+        return new PopulationReport.Bulk(count, failed.sum(), Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+}
@@ -0,0 +1,51 @@
+package api_tests.load;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Результаты {@link SkewedWorkload}: LOGIN и LOGOUT популяции и отчет о нагрузке ACTION, в котором задержки
+ * разделены на группы {@link SkewedWorkload#HOT} и {@link SkewedWorkload#COLD}.
+ */
+public record SkewReport(TokenPopularity popularity, PopulationReport.Bulk login, LoadReport load,
+                         PopulationReport.Bulk logout) {
+
+    public Histogram hotLatency() {
+        return load.latencyByAction().getOrDefault(SkewedWorkload.HOT, new Histogram(3));
+    }
+
+    public Histogram coldLatency() {
+        return load.latencyByAction().getOrDefault(SkewedWorkload.COLD, new Histogram(3));
+    }
+
+    /** Фактическая доля запросов к горячим токенам. */
+    public double hotShare() {
+        long hot = hotLatency().getTotalCount();
+        long total = hot + coldLatency().getTotalCount();
+        return total == 0 ? 0.0 : (double) hot / total;
+    }
+
+    /** Отношение перцентиля времени обслуживания горячих токенов к холодным; 0, если в группе нет ответов. */
+    public double hotToColdRatio(double percentile) {
+        Histogram hot = hotLatency();
+        Histogram cold = coldLatency();
+        if (hot.getTotalCount() == 0 || cold.getTotalCount() == 0) {
+            return 0.0;
+        }
+        return (double) hot.getValueAtPercentile(percentile) / Math.max(1, cold.getValueAtPercentile(percentile));
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Распределение: %s%n", popularity));
+        summary.append(String.format("Популяция: %d токенов, горячих: %d (%.2f%%)%n", popularity.population(),
+                popularity.hotCount(), popularity.hotCount() * 100.0 / popularity.population()));
+        summary.append(String.format("Доля запросов к горячим: ожидаемая %.1f%%, фактическая %.1f%%%n",
+                popularity.hotProbability() * 100, hotShare() * 100));
+        summary.append(String.format("Отношение времени обслуживания горячих к холодным: p50 x%.2f, p99 x%.2f%n",
+                hotToColdRatio(50), hotToColdRatio(99)));
+        summary.append(String.format("LOGIN популяции: %.1f req/s, ошибок %d; LOGOUT: %.1f req/s, ошибок %d%n",
+                login.throughput(), login.failed(), logout.throughput(), logout.failed()));
+        summary.append(load.summary());
+        return summary.toString();
+    }
+}
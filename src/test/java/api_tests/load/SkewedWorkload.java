@@ -0,0 +1,69 @@
+package api_tests.load;
+
+import api_tests.client.ApiClient;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Неравномерная нагрузка на хранилище сессий: популяция из {@code popularity.population()} токенов проходит
+ * LOGIN, затем ACTION отправляются по открытой модели ({@link OpenModelScheduler}) с постоянной интенсивностью,
+ * токен каждого запроса выбирается по {@link TokenPopularity}. Задержки пишутся отдельно для горячих ({@link #HOT})
+ * и холодных ({@link #COLD}) токенов: конкуренция за записи горячих токенов видна только при таком доступе.
+ * После прогона популяция выходит LOGOUT.
+ */
+public class SkewedWorkload {
+
+    public static final String HOT = "HOT";
+    public static final String COLD = "COLD";
+
+    private final ApiClient apiClient;
+    private final SessionPopulation sessions;
+    private final TokenPopularity popularity;
+    private final double requestsPerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+
+    public SkewedWorkload(ApiClient apiClient, SessionPopulation sessions, TokenPopularity popularity,
+                          double requestsPerSecond, Duration duration, int maxInFlight) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Интенсивность должна быть положительной: " + requestsPerSecond);
+        }
+        this.apiClient = apiClient;
+        this.sessions = sessions;
+        this.popularity = popularity;
+        this.requestsPerSecond = requestsPerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public SkewReport run() {
+        long population = popularity.population();
+        PopulationReport.Bulk login = sessions.send(Actions.LOGIN, population, i -> i);
+        LoadReport load;
+        try (LoadMetrics metrics = new LoadMetrics()) {
+            load = drive(metrics);
+        }
+        PopulationReport.Bulk logout = sessions.send(Actions.LOGOUT, population, i -> i);
+        return new SkewReport(popularity, login, load, logout);
+    }
+
+    private LoadReport drive(LoadMetrics metrics) {
+        OpenModelScheduler.Result result = new OpenModelScheduler(maxInFlight).run(requestsPerSecond, duration,
+                (index, intendedStart) -> sendAction(metrics, popularity.sampleRank(), intendedStart));
+        return metrics.snapshot(result.elapsed(), result.started(), result.dropped());
+    }
+
+    private void sendAction(LoadMetrics metrics, long rank, long intendedNanos) {
+        String group = popularity.isHot(rank) ? HOT : COLD;
+        long sendNanos = System.nanoTime();
+        try {
+            Response response = apiClient.sendPostRequestWithBodyParams(sessions.token(rank), Actions.ACTION);
+            metrics.recordResponse(group, response.getStatusCode(), intendedNanos, sendNanos, System.nanoTime());
+        } catch (Exception e) {
+            metrics.recordTransportError(group, e, intendedNanos, sendNanos, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package api_tests.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Результаты {@link ScalingSweep} по уровням. Колено - последний уровень перед тем, на котором рост
+ * конкурентности дал прирост пропускной способности меньше minThroughputGain.
+ */
+public record SweepReport(List<Level> levels, double minThroughputGain) {
+
+    public record Level(int concurrency, LoadReport report) {
+        public double throughput() {
+            return report.throughput();
+        }
+
+        public double latencyMillis(double percentile) {
+            Histogram latency = report.totalLatency();
+            return latency.getTotalCount() == 0 ? 0.0 : latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    public Level knee() {
+        for (int i = 1; i < levels.size(); i++) {
+            if (levels.get(i).throughput() < levels.get(i - 1).throughput() * (1 + minThroughputGain)) {
+                return levels.get(i - 1);
+            }
+        }
+        return levels.get(levels.size() - 1);
+    }
+
+    public boolean saturated() {
+        return knee() != levels.get(levels.size() - 1);
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%6s %12s %10s %10s %10s%n", "потоки", "req/s", "p50, мс", "p99, мс", "ошибки"));
+        for (Level level : levels) {
+            summary.append(String.format("%6d %12.1f %10.2f %10.2f %9.3f%%%n", level.concurrency(), level.throughput(),
+                    level.latencyMillis(50), level.latencyMillis(99), level.report().errorRate() * 100));
+        }
+        Level knee = knee();
+        summary.append(saturated()
+                ? String.format("Колено: %d потоков, %.1f req/s, p99 %.2f мс (дальше прирост меньше %.0f%%)%n",
+                        knee.concurrency(), knee.throughput(), knee.latencyMillis(99), minThroughputGain * 100)
+                : String.format("Насыщение не достигнуто до %d потоков%n", knee.concurrency()));
+        return summary.toString();
+    }
+
+    public String csv() {
+        StringBuilder csv = new StringBuilder("concurrency,throughput,p50_ms,p99_ms,error_rate\n");
+        for (Level level : levels) {
+            csv.append(String.format(Locale.ROOT, "%d,%.3f,%.3f,%.3f,%.6f%n", level.concurrency(),
+                    level.throughput(), level.latencyMillis(50), level.latencyMillis(99), level.report().errorRate()));
+        }
+        return csv.toString();
+    }
+}
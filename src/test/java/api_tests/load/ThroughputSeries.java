@@ -0,0 +1,44 @@
+package api_tests.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Число успешных и неуспешных ответов по секундам от {@code startNanos} (по моменту получения ответа).
+ * В отличие от гистограмм {@link LoadMetrics} показывает, как пропускная способность менялась во времени.
+ */
+public class ThroughputSeries {
+
+    private final long startNanos;
+    private final Map<Long, LongAdder> successesBySecond = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> failuresBySecond = new ConcurrentHashMap<>();
+
+    public ThroughputSeries(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public void record(long receiveNanos, boolean success) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(Math.max(0, receiveNanos - startNanos));
+        (success ? successesBySecond : failuresBySecond).computeIfAbsent(second, key -> new LongAdder()).increment();
+    }
+
+    /** Успешные ответы за каждую из первых {@code seconds} секунд. */
+    public long[] successes(int seconds) {
+        return perSecond(successesBySecond, seconds);
+    }
+
+    public long[] failures(int seconds) {
+        return perSecond(failuresBySecond, seconds);
+    }
+
+    private static long[] perSecond(Map<Long, LongAdder> counts, int seconds) {
+        long[] series = new long[seconds];
+        for (int second = 0; second < seconds; second++) {
+            LongAdder count = counts.get((long) second);
+            series[second] = count == null ? 0 : count.sum();
+        }
+        return series;
+    }
+}
@@ -0,0 +1,131 @@
+package api_tests.load;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Распределение обращений по токенам популяции из {@code population} сессий: {@link #sampleRank()} возвращает
+ * ранг токена, ранг 0 - самый популярный. Токены с рангом меньше {@link #hotCount()} считаются горячими.
+ * Текстовый формат для конфигурации: {@code zipf:1.1:0.01} (показатель Ципфа и доля горячих токенов для отчета),
+ * {@code hotset:0.01:0.9} (доля горячих токенов и доля обращений к ним, внутри обеих групп - равномерно).
+ */
+public sealed interface TokenPopularity {
+
+    long sampleRank();
+
+    long population();
+
+    long hotCount();
+
+    default boolean isHot(long rank) {
+        return rank < hotCount();
+    }
+
+    /** Доля обращений, приходящаяся на горячие токены. */
+    double hotProbability();
+
+    static TokenPopularity zipf(int population, double exponent, double hotFraction) {
+        return new Zipf(population, exponent, hotCount(population, hotFraction));
+    }
+
+    static TokenPopularity hotSet(int population, double hotFraction, double hotProbability) {
+        return new HotSet(population, hotCount(population, hotFraction), hotProbability);
+    }
+
+    static TokenPopularity parse(String spec, int population) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "zipf" -> zipf(population, Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "hotset" -> hotSet(population, Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default -> throw new IllegalArgumentException("Неизвестный тип распределения: " + parts[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Некорректное описание распределения токенов: " + spec, ex);
+        }
+    }
+
+    private static long hotCount(int population, double hotFraction) {
+        if (population < 2 || hotFraction <= 0 || hotFraction >= 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Некорректные популяция и доля горячих токенов: %d, %s", population, hotFraction));
+        }
+        return Math.clamp(Math.round(population * hotFraction), 1, population - 1);
+    }
+
+    /**
+     * Вероятность ранга r пропорциональна 1 / (r + 1)^exponent. Функция распределения считается заранее
+     * (8 байт на токен), выбор ранга - двоичный поиск по ней.
+     */
+    final class Zipf implements TokenPopularity {
+        private final double exponent;
+        private final long hotCount;
+        private final double[] cumulative;
+
+        private Zipf(int population, double exponent, long hotCount) {
+            if (exponent <= 0) {
+                throw new IllegalArgumentException("Показатель Ципфа должен быть положительным: " + exponent);
+            }
+            this.exponent = exponent;
+            this.hotCount = hotCount;
+            this.cumulative = new double[population];
+            double sum = 0;
+            for (int rank = 0; rank < population; rank++) {
+                sum += Math.pow(rank + 1, -exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < population; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        @Override
+        public long sampleRank() {
+            int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+
+        @Override
+        public long population() {
+            return cumulative.length;
+        }
+
+        @Override
+        public long hotCount() {
+            return hotCount;
+        }
+
+        @Override
+        public double hotProbability() {
+            return cumulative[(int) hotCount - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("zipf, показатель %.2f", exponent);
+        }
+    }
+
+    record HotSet(long population, long hotCount, double hotProbability) implements TokenPopularity {
+        public HotSet {
+            if (hotProbability < 0 || hotProbability > 1) {
+                throw new IllegalArgumentException(
+                        "Доля обращений к горячим токенам должна быть в диапазоне [0, 1]: " + hotProbability);
+            }
+        }
+
+        @Override
+        public long sampleRank() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return random.nextDouble() < hotProbability
+                    ? random.nextLong(hotCount)
+                    : random.nextLong(hotCount, population);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("горячее множество, %.1f%% обращений к горячим", hotProbability * 100);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package api_tests.metrics;
+
+/**
+ * Фазы HTTP-обмена вызова ApiClient, от входа в последний фильтр RestAssured до прочитанного тела ответа.
+ * {@link #PREPARE} - остаток за вычетом остальных фаз: создание HTTP-клиента, разрешение имени, разбор ответа.
+ */
+public enum CallPhase {
+    PREPARE("подготовка"),
+    CONNECT("соединение"),
+    SEND("отправка"),
+    WAIT("ожидание ответа"),
+    BODY("чтение тела");
+
+    private final String title;
+
+    CallPhase(String title) {
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
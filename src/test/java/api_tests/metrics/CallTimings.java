@@ -0,0 +1,178 @@
+package api_tests.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Гистограммы времени вызовов ApiClient в пределах области (тест, класс). Текущая область привязана к потоку
+ * и наследуется дочерними потоками, в том числе виртуальными; вне области запись ничего не делает.
+ * Для разбора хвоста задержек хранятся гистограммы фаз {@link CallPhase} по action и несколько самых
+ * медленных вызовов с их фазами.
+ */
+public final class CallTimings {
+
+    public static final String ALL_ACTIONS = "ALL";
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int SLOWEST_CALLS = 5;
+    private static final InheritableThreadLocal<CallTimings> CURRENT = new InheritableThreadLocal<>();
+
+    private final CallTimings parent;
+    private final Map<String, ConcurrentHistogram> byAction = new ConcurrentHashMap<>();
+    private final Map<CallPhase, Map<String, ConcurrentHistogram>> phasesByAction = new EnumMap<>(CallPhase.class);
+    private final PriorityQueue<PhasedCall> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(PhasedCall::totalMicros));
+
+    public CallTimings(CallTimings parent) {
+        this.parent = parent;
+        for (CallPhase phase : CallPhase.values()) {
+            phasesByAction.put(phase, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static void record(String action, long nanos) {
+        CallTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(String.valueOf(action), TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    /** Длительности фаз вызова в наносекундах, по {@link CallPhase#ordinal()}. */
+    public static void recordPhases(String action, long[] phaseNanos) {
+        CallTimings timings = CURRENT.get();
+        if (timings != null) {
+            long[] phaseMicros = new long[phaseNanos.length];
+            long totalMicros = 0;
+            for (int i = 0; i < phaseNanos.length; i++) {
+                phaseMicros[i] = TimeUnit.NANOSECONDS.toMicros(phaseNanos[i]);
+                totalMicros += phaseMicros[i];
+            }
+            timings.addPhases(new PhasedCall(String.valueOf(action), totalMicros, phaseMicros));
+        }
+    }
+
+    public static CallTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void activate(CallTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    public static void deactivate() {
+        CURRENT.remove();
+    }
+
+    public Histogram histogramMicros(String action) {
+        if (ALL_ACTIONS.equals(action)) {
+            Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+            byAction.values().forEach(total::add);
+            return total;
+        }
+        ConcurrentHistogram histogram = byAction.get(action);
+        return histogram == null ? new Histogram(SIGNIFICANT_DIGITS) : histogram.copy();
+    }
+
+    public Histogram phaseHistogramMicros(CallPhase phase, String action) {
+        Map<String, ConcurrentHistogram> byPhaseAction = phasesByAction.get(phase);
+        if (ALL_ACTIONS.equals(action)) {
+            Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+            byPhaseAction.values().forEach(total::add);
+            return total;
+        }
+        ConcurrentHistogram histogram = byPhaseAction.get(action);
+        return histogram == null ? new Histogram(SIGNIFICANT_DIGITS) : histogram.copy();
+    }
+
+    public boolean isEmpty() {
+        return byAction.isEmpty() && phasesByAction.get(CallPhase.PREPARE).isEmpty();
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        Map<String, ConcurrentHistogram> sorted = new TreeMap<>(byAction);
+        sorted.keySet().forEach(action -> appendLine(summary, action, histogramMicros(action)));
+        appendLine(summary, ALL_ACTIONS, histogramMicros(ALL_ACTIONS));
+        return summary.toString();
+    }
+
+    /** Фазы вызовов по action и самые медленные вызовы; пусто, если фазы не снимались. */
+    public String phaseSummary() {
+        Map<String, ConcurrentHistogram> actions = new TreeMap<>(phasesByAction.get(CallPhase.PREPARE));
+        if (actions.isEmpty()) {
+            return "";
+        }
+        StringBuilder summary = new StringBuilder("Фазы вызовов:").append(System.lineSeparator());
+        actions.keySet().forEach(action -> appendPhases(summary, action));
+        appendPhases(summary, ALL_ACTIONS);
+        summary.append("Самые медленные вызовы:").append(System.lineSeparator());
+        List<PhasedCall> calls;
+        synchronized (slowest) {
+            calls = new ArrayList<>(slowest);
+        }
+        calls.sort(Comparator.comparingLong(PhasedCall::totalMicros).reversed());
+        for (PhasedCall call : calls) {
+            summary.append(String.format("%-8s %.2f мс:", call.action(), call.totalMicros() / 1000.0));
+            for (CallPhase phase : CallPhase.values()) {
+                summary.append(String.format(" %s %.2f", phase.getTitle(),
+                        call.phaseMicros()[phase.ordinal()] / 1000.0));
+            }
+            summary.append(System.lineSeparator());
+        }
+        return summary.toString();
+    }
+
+    private void addPhases(PhasedCall call) {
+        for (CallPhase phase : CallPhase.values()) {
+            phasesByAction.get(phase)
+                    .computeIfAbsent(call.action(), key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                    .recordValue(call.phaseMicros()[phase.ordinal()]);
+        }
+        synchronized (slowest) {
+            if (slowest.size() < SLOWEST_CALLS) {
+                slowest.add(call);
+            } else if (slowest.peek().totalMicros() < call.totalMicros()) {
+                slowest.poll();
+                slowest.add(call);
+            }
+        }
+        if (parent != null) {
+            parent.addPhases(call);
+        }
+    }
+
+    private void appendPhases(StringBuilder summary, String action) {
+        summary.append(action).append(System.lineSeparator());
+        for (CallPhase phase : CallPhase.values()) {
+            appendLine(summary, String.format("  %-16s", phase.getTitle()), phaseHistogramMicros(phase, action));
+        }
+    }
+
+    private void add(String action, long micros) {
+        byAction.computeIfAbsent(action, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS)).recordValue(micros);
+        if (parent != null) {
+            parent.add(action, micros);
+        }
+    }
+
+    private static void appendLine(StringBuilder summary, String action, Histogram histogram) {
+        summary.append(String.format("%-8s n=%d p50=%.2f мс p95=%.2f мс p99=%.2f мс max=%.2f мс%n",
+                action, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0));
+    }
+
+    private record PhasedCall(String action, long totalMicros, long[] phaseMicros) {
+    }
+}
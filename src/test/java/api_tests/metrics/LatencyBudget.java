@@ -0,0 +1,28 @@
+package api_tests.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Бюджет задержки вызовов ApiClient для теста (на методе) или для всего класса (на классе).
+ * Значения задаются как {@code "500us"}, {@code "50ms"}, {@code "1s"}; пустое значение - без ограничения.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+
+    String p50() default "";
+
+    String p95() default "";
+
+    String p99() default "";
+
+    String max() default "";
+
+    String action() default CallTimings.ALL_ACTIONS;
+}
@@ -0,0 +1,153 @@
+package api_tests.metrics;
+
+import api_tests.client.ApiClient;
+import api_tests.data.TokenGenerator;
+import configs.LoaderConfig;
+import io.qameta.allure.Allure;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static api_tests.constants.ApiConstants.Actions;
+
+/**
+ * Проверяет {@link LatencyBudget} теста и класса. Перед первым тестом класса с бюджетом (после его
+ * {@code @BeforeAll}, когда стабы уже установлены) выполняются {@code LATENCY_BUDGET_WARMUP_SESSIONS} сессий
+ * LOGIN → ACTION → LOGOUT вне области замера: первые вызовы включают инициализацию RestAssured, клиентов
+ * сервиса и JIT и иначе определяли бы хвостовые перцентили класса.
+ */
+public class LatencyBudgetExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback,
+        AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(LatencyBudgetExtension.class);
+    private static final String TIMINGS_KEY = "timings";
+    private static final String WARMED_UP_KEY = "warmedUp";
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(TIMINGS_KEY, new CallTimings(null));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (hasBudget(context.getRequiredTestClass())) {
+            // тесты класса идут параллельно: прогрев выполняет первый, остальные ждут его результата в хранилище
+            context.getParent().ifPresent(parent -> parent.getStore(NAMESPACE).getOrComputeIfAbsent(WARMED_UP_KEY,
+                    key -> warmUp(config.getIntProperty("LATENCY_BUDGET_WARMUP_SESSIONS", 5)), Boolean.class));
+        }
+        CallTimings classTimings = context.getParent()
+                .map(parent -> parent.getStore(NAMESPACE).get(TIMINGS_KEY, CallTimings.class))
+                .orElse(null);
+        CallTimings testTimings = new CallTimings(classTimings);
+        context.getStore(NAMESPACE).put(TIMINGS_KEY, testTimings);
+        CallTimings.activate(testTimings);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CallTimings.deactivate();
+        CallTimings testTimings = context.getStore(NAMESPACE).get(TIMINGS_KEY, CallTimings.class);
+        Optional<LatencyBudget> budget = AnnotationSupport.findAnnotation(context.getTestMethod(), LatencyBudget.class);
+        if (testTimings != null && !testTimings.isEmpty()) {
+            Allure.addAttachment("Задержки вызовов ApiClient", "text/plain",
+                    testTimings.summary() + testTimings.phaseSummary());
+        }
+        if (testTimings != null && budget.isPresent()) {
+            verify(budget.get(), testTimings, context.getDisplayName());
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        CallTimings classTimings = context.getStore(NAMESPACE).get(TIMINGS_KEY, CallTimings.class);
+        Optional<LatencyBudget> budget = AnnotationSupport.findAnnotation(context.getTestClass(), LatencyBudget.class);
+        if (classTimings != null && budget.isPresent()) {
+            verify(budget.get(), classTimings, context.getDisplayName());
+        }
+    }
+
+    private static boolean hasBudget(Class<?> testClass) {
+        return AnnotationSupport.isAnnotated(testClass, LatencyBudget.class)
+                || !AnnotationSupport.findAnnotatedMethods(testClass, LatencyBudget.class,
+                HierarchyTraversalMode.TOP_DOWN).isEmpty();
+    }
+
+    /** Каждая сессия со своим токеном и завершается LOGOUT; ошибки прогрева не мешают самим тестам. */
+    private static boolean warmUp(int sessions) {
+        CallTimings current = CallTimings.current();
+        CallTimings.deactivate();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                ApiClient apiClient = new ApiClient(TokenGenerator.validToken());
+                apiClient.sendPostRequest(Actions.LOGIN);
+                apiClient.sendPostRequest(Actions.ACTION);
+                apiClient.sendPostRequest(Actions.LOGOUT);
+            }
+            return true;
+        } catch (RuntimeException ignored) {
+            // недоступный сервис проявится в самих тестах
+            return false;
+        } finally {
+            CallTimings.activate(current);
+        }
+    }
+
+    private static void verify(LatencyBudget budget, CallTimings timings, String scope) {
+        Histogram histogram = timings.histogramMicros(budget.action());
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        double factor = config.getDoubleProperty("LATENCY_BUDGET_FACTOR", 1.0);
+        List<String> violations = new ArrayList<>();
+        check(violations, "p50", budget.p50(), histogram.getValueAtPercentile(50), factor);
+        check(violations, "p95", budget.p95(), histogram.getValueAtPercentile(95), factor);
+        check(violations, "p99", budget.p99(), histogram.getValueAtPercentile(99), factor);
+        check(violations, "max", budget.max(), histogram.getMaxValue(), factor);
+        if (!violations.isEmpty()) {
+            throw new AssertionFailedError(String.format("Превышен бюджет задержки (%s, action %s): %s%n%s%s",
+                    scope, budget.action(), String.join(", ", violations),
+                    timings.summary(), timings.phaseSummary()));
+        }
+    }
+
+    private static void check(List<String> violations, String name, String limit, long actualMicros, double factor) {
+        if (limit.isBlank()) {
+            return;
+        }
+        long limitMicros = Math.round(parseMicros(limit) * factor);
+        if (actualMicros > limitMicros) {
+            violations.add(String.format("%s=%.2f мс > %.2f мс", name, actualMicros / 1000.0, limitMicros / 1000.0));
+        }
+    }
+
+    static long parseMicros(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (normalized.endsWith("us")) {
+                return Long.parseLong(normalized.substring(0, normalized.length() - 2).trim());
+            }
+            if (normalized.endsWith("ms")) {
+                return Math.round(Double.parseDouble(normalized.substring(0, normalized.length() - 2).trim()) * 1_000);
+            }
+            if (normalized.endsWith("s")) {
+                return Math.round(Double.parseDouble(normalized.substring(0, normalized.length() - 1).trim()) * 1_000_000);
+            }
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Некорректное значение бюджета задержки: " + value, ex);
+        }
+        throw new IllegalArgumentException("Не указана единица измерения бюджета задержки (us, ms, s): " + value);
+    }
+}
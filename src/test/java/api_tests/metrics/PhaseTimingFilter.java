@@ -0,0 +1,164 @@
+package api_tests.metrics;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Разбивает время вызова на фазы {@link CallPhase} и пишет их в {@link CallTimings}. Моменты соединения, отправки
+ * и получения заголовков отмечает HTTP-клиент из {@link #httpClientFactory()} в потоке вызова; тело ответа читается
+ * здесь же, поэтому фильтр должен выполняться последним перед отправкой.
+ */
+@SuppressWarnings("deprecation")
+public class PhaseTimingFilter implements OrderedFilter {
+
+    static final int START = 0;
+    static final int CONNECT_START = 1;
+    static final int CONNECT_END = 2;
+    static final int SEND_START = 3;
+    static final int SEND_END = 4;
+    static final int HEADERS_RECEIVED = 5;
+    static final int MARK_COUNT = 6;
+    private static final ThreadLocal<long[]> MARKS = new ThreadLocal<>();
+    private static final PhaseTimingFilter INSTANCE = new PhaseTimingFilter();
+
+    public static PhaseTimingFilter getInstance() {
+        return INSTANCE;
+    }
+
+    /** Фабрика клиентов RestAssured (по умолчанию - новый DefaultHttpClient на вызов) с отметками фаз. */
+    public static HttpClientConfig.HttpClientFactory httpClientFactory() {
+        return PhaseMarkingHttpClient::new;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long[] marks = new long[MARK_COUNT];
+        marks[START] = System.nanoTime();
+        MARKS.set(marks);
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            response.getBody().asByteArray();
+            return response;
+        } finally {
+            MARKS.remove();
+            CallTimings.recordPhases(String.valueOf(requestSpec.getFormParams().get(RequestParams.ACTION)),
+                    phases(marks, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** Длительности фаз по {@link CallPhase#ordinal()}; незавершенная из-за ошибки фаза длится до конца вызова. */
+    static long[] phases(long[] marks, long end) {
+        long[] phases = new long[CallPhase.values().length];
+        phases[CallPhase.CONNECT.ordinal()] = span(marks, CONNECT_START, CONNECT_END, end);
+        phases[CallPhase.SEND.ordinal()] = span(marks, SEND_START, SEND_END, end);
+        phases[CallPhase.WAIT.ordinal()] = span(marks, SEND_END, HEADERS_RECEIVED, end);
+        phases[CallPhase.BODY.ordinal()] = marks[HEADERS_RECEIVED] == 0 ? 0 : end - marks[HEADERS_RECEIVED];
+        long measured = 0;
+        for (long phase : phases) {
+            measured += phase;
+        }
+        phases[CallPhase.PREPARE.ordinal()] = Math.max(0, end - marks[START] - measured);
+        return phases;
+    }
+
+    private static long span(long[] marks, int from, int to, long end) {
+        if (marks[from] == 0) {
+            return 0;
+        }
+        return (marks[to] == 0 ? end : marks[to]) - marks[from];
+    }
+
+    private static void mark(int index) {
+        long[] marks = MARKS.get();
+        if (marks != null) {
+            marks[index] = System.nanoTime();
+        }
+    }
+
+    private static class PhaseMarkingHttpClient extends DefaultHttpClient {
+
+        @Override
+        protected ClientConnectionManager createClientConnectionManager() {
+            SchemeRegistry registry = new SchemeRegistry();
+            registry.register(new Scheme("http", 80, new PhaseMarkingSocketFactory()));
+            registry.register(new Scheme("https", 443, SSLSocketFactory.getSocketFactory()));
+            return new BasicClientConnectionManager(registry);
+        }
+
+        @Override
+        protected HttpRequestExecutor createRequestExecutor() {
+            return new PhaseMarkingRequestExecutor();
+        }
+
+        // клиент создается на каждый вызов, поэтому keep-alive соединения никто не переиспользует: без закрытия
+        // после ответа они копятся до сборки мусора в процессе тестов и удерживают ресурсы сервиса
+        @Override
+        protected ConnectionReuseStrategy createConnectionReuseStrategy() {
+            return NoConnectionReuseStrategy.INSTANCE;
+        }
+    }
+
+    private static class PhaseMarkingSocketFactory extends PlainSocketFactory {
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            mark(CONNECT_START);
+            Socket connected = super.connectSocket(socket, remoteAddress, localAddress, params);
+            mark(CONNECT_END);
+            return connected;
+        }
+    }
+
+    private static class PhaseMarkingRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            mark(SEND_START);
+            HttpResponse response = super.doSendRequest(request, conn, context);
+            mark(SEND_END);
+            return response;
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn, context);
+            mark(HEADERS_RECEIVED);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package api_tests.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static api_tests.metrics.PhaseTimingFilter.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Разбиение вызова на фазы PhaseTimingFilter")
+class PhaseTimingFilterTest {
+
+    @Test
+    @DisplayName("Успешный вызов: каждая фаза между своими отметками, подготовка - остаток")
+    void completedCall() {
+        long[] marks = marks(1_000, 1_100, 1_400, 1_450, 1_500, 2_500);
+
+        long[] phases = phases(marks, 2_800);
+
+        assertPhases(phases, 100 + 50, 300, 50, 1_000, 300);
+        assertEquals(1_800, sum(phases), "Сумма фаз равна длительности вызова");
+    }
+
+    @Test
+    @DisplayName("Ошибка соединения: фаза соединения длится до конца вызова, последующих фаз нет")
+    void failedConnect() {
+        long[] marks = marks(1_000, 1_200, 0, 0, 0, 0);
+
+        long[] phases = phases(marks, 4_200);
+
+        assertPhases(phases, 200, 3_000, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Нет отметки заголовков: ожидание ответа длится до конца вызова, чтения тела нет")
+    void missingHeadersMark() {
+        long[] marks = marks(1_000, 1_100, 1_300, 1_350, 1_400, 0);
+
+        long[] phases = phases(marks, 6_400);
+
+        assertPhases(phases, 150, 200, 50, 5_000, 0);
+        assertEquals(5_400, sum(phases), "Сумма фаз равна длительности вызова");
+    }
+
+    private static long[] marks(long start, long connectStart, long connectEnd, long sendStart, long sendEnd,
+                                long headersReceived) {
+        long[] marks = new long[MARK_COUNT];
+        marks[START] = start;
+        marks[CONNECT_START] = connectStart;
+        marks[CONNECT_END] = connectEnd;
+        marks[SEND_START] = sendStart;
+        marks[SEND_END] = sendEnd;
+        marks[HEADERS_RECEIVED] = headersReceived;
+        return marks;
+    }
+
+    private static void assertPhases(long[] phases, long prepare, long connect, long send, long wait, long body) {
+        assertAll(
+                () -> assertEquals(prepare, phases[CallPhase.PREPARE.ordinal()], CallPhase.PREPARE.getTitle()),
+                () -> assertEquals(connect, phases[CallPhase.CONNECT.ordinal()], CallPhase.CONNECT.getTitle()),
+                () -> assertEquals(send, phases[CallPhase.SEND.ordinal()], CallPhase.SEND.getTitle()),
+                () -> assertEquals(wait, phases[CallPhase.WAIT.ordinal()], CallPhase.WAIT.getTitle()),
+                () -> assertEquals(body, phases[CallPhase.BODY.ordinal()], CallPhase.BODY.getTitle()));
+    }
+
+    private static long sum(long[] phases) {
+        long sum = 0;
+        for (long phase : phases) {
+            sum += phase;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,225 @@
+package api_tests.reference;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Эталонная реализация контракта /endpoint из README: проверка X-Api-Key, формата token и action,
+ * LOGIN через /auth (повторный LOGIN активного токена - 409), ACTION через /doAction внешнего сервиса, LOGOUT,
+ * ответ в JSON.
+ * Каждый запрос обрабатывается в своем виртуальном потоке, активные токены хранятся в конкурентном множестве.
+ * <p>
+ * Запуск отдельно, с теми же параметрами, что и у тестируемого jar:
+ * {@code java -Dsecret=qazWSXedc -Dmock=http://localhost:8888/ -Dserver.port=8080 api_tests.reference.ReferenceServer}
+ */
+public class ReferenceServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceServer.class);
+    // как в NegativeTests: токен только из букв или только из цифр невалиден
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("^(?=.*[A-Z])(?=.*[0-9])[A-Z0-9]{32}$");
+    private static final Set<String> ACTIONS = Set.of(Actions.LOGIN, Actions.ACTION, Actions.LOGOUT);
+    private static final String AUTH_ENDPOINT = "auth";
+    private static final String DO_ACTION_ENDPOINT = "doAction";
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int CONFLICT = 409;
+    private static final int DEFAULT_PORT = 8080;
+    private static final Duration MOCK_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String apiKey;
+    private final URI mockUrl;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HttpClient mockClient;
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+
+    public ReferenceServer(int port, String apiKey, String mockUrl) throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.apiKey = apiKey;
+        this.mockUrl = URI.create(mockUrl.endsWith("/") ? mockUrl : mockUrl + "/");
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.mockClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(MOCK_TIMEOUT)
+                .executor(executor)
+                .build();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = Integer.parseInt(System.getProperty("server.port", String.valueOf(DEFAULT_PORT)));
+        String apiKey = requiredProperty("secret");
+        String mockUrl = requiredProperty("mock");
+        try (ReferenceServer server = new ReferenceServer(port, apiKey, mockUrl)) {
+            log.info("Эталонный сервер запущен: {}, внешний сервис: {}", server.getUrl(), mockUrl);
+            new CountDownLatch(1).await();
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public int getActiveTokens() {
+        return tokens.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        mockClient.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body;
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                body = new String(requestBody.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            Reply reply = process(exchange, body);
+            byte[] response = reply.json().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set(Headers.CONTENT_TYPE, Headers.APPLICATION_JSON);
+            exchange.sendResponseHeaders(reply.status(), response.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(response);
+            }
+        }
+    }
+
+    private Reply process(HttpExchange exchange, String body) {
+        if (!Endpoints.BASE_ENDPOINT.equals(exchange.getRequestURI().getPath())) {
+            return Reply.error(StatusCodes.NOT_FOUND, "Not Found");
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return Reply.error(METHOD_NOT_ALLOWED, "Method Not Allowed");
+        }
+        if (!apiKey.equals(exchange.getRequestHeaders().getFirst(Headers.API_KEY))) {
+            return Reply.error(StatusCodes.UNAUTHORIZED, "Missing or invalid API Key");
+        }
+        String contentType = exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE);
+        if (contentType == null || !contentType.contains(Headers.APPLICATION_FORM_URLENCODED)) {
+            return Reply.error(StatusCodes.BAD_REQUEST, "Unsupported Content-Type");
+        }
+        Map<String, String> form = parseForm(body);
+        String token = form.get(RequestParams.TOKEN);
+        String action = form.get(RequestParams.ACTION);
+        if (token == null || !TOKEN_PATTERN.matcher(token).matches()) {
+            return Reply.error(StatusCodes.BAD_REQUEST, "token: должно соответствовать " + TOKEN_PATTERN.pattern());
+        }
+        if (action == null || !ACTIONS.contains(action)) {
+            return Reply.error(StatusCodes.BAD_REQUEST, "action: допустимые значения " + ACTIONS);
+        }
+        return switch (action) {
+            case Actions.LOGIN -> login(token);
+            case Actions.ACTION -> doAction(token);
+            default -> logout(token);
+        };
+    }
+
+    private Reply login(String token) {
+        if (tokens.contains(token)) {
+            return Reply.error(CONFLICT, "Token '" + token + "' already exists");
+        }
+        if (!callMock(AUTH_ENDPOINT, token)) {
+            return Reply.error(StatusCodes.INTERNAL_SERVER_ERROR, "Internal Server Error");
+        }
+        if (!tokens.add(token)) {
+            return Reply.error(CONFLICT, "Token '" + token + "' already exists");
+        }
+        return Reply.OK;
+    }
+
+    private Reply doAction(String token) {
+        if (!tokens.contains(token)) {
+            return Reply.error(StatusCodes.FORBIDDEN, "Token '" + token + "' not found");
+        }
+        if (!callMock(DO_ACTION_ENDPOINT, token)) {
+            return Reply.error(StatusCodes.INTERNAL_SERVER_ERROR, "Internal Server Error");
+        }
+        return Reply.OK;
+    }
+
+    private Reply logout(String token) {
+        if (!tokens.remove(token)) {
+            return Reply.error(StatusCodes.FORBIDDEN, "Token '" + token + "' not found");
+        }
+        return Reply.OK;
+    }
+
+    private boolean callMock(String endpoint, String token) {
+        HttpRequest request = HttpRequest.newBuilder(mockUrl.resolve(endpoint))
+                .timeout(MOCK_TIMEOUT)
+                .header(Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED)
+                .header(Headers.ACCEPT, Headers.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(RequestParams.TOKEN + "=" + token))
+                .build();
+        try {
+            int status = mockClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status / 100 == 2;
+        } catch (IOException e) {
+            log.warn("Внешний сервис недоступен: {}", request.uri(), e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        if (body.isEmpty()) {
+            return form;
+        }
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.putIfAbsent(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static String requiredProperty(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Не задано системное свойство: -D" + key);
+        }
+        return value;
+    }
+
+    private record Reply(int status, String json) {
+        static final Reply OK = new Reply(StatusCodes.OK, "{\"result\":\"OK\"}");
+
+        static Reply error(int status, String message) {
+            return new Reply(status, "{\"result\":\"ERROR\",\"message\":\"" + message.replace("\"", "\\\"") + "\"}");
+        }
+    }
+}
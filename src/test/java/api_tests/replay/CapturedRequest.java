@@ -0,0 +1,33 @@
+package api_tests.replay;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static api_tests.constants.ApiConstants.Headers;
+
+/**
+ * Одна строка журнала захвата: время отправки (микросекунды от эпохи), HTTP-метод, базовый URL клиента,
+ * заголовки и параметры формы. Отсутствующий параметр формы - null.
+ * Рабочий ключ {@code X-Api-Key} в журнал не попадает: вместо него пишется {@link #REDACTED_API_KEY}.
+ */
+public record CapturedRequest(long timestampMicros,
+                              String method,
+                              String url,
+                              Map<String, String> headers,
+                              String token,
+                              String action) {
+
+    public static final String REDACTED_API_KEY = "[ REDACTED ]";
+
+    /**
+     * Копия запроса, в которой скрытый ключ заменен на {@code apiKey}; остальные значения заголовка не меняются.
+     */
+    public CapturedRequest withApiKey(String apiKey) {
+        if (headers == null || !REDACTED_API_KEY.equals(headers.get(Headers.API_KEY))) {
+            return this;
+        }
+        Map<String, String> restored = new LinkedHashMap<>(headers);
+        restored.put(Headers.API_KEY, apiKey);
+        return new CapturedRequest(timestampMicros, method, url, restored, token, action);
+    }
+}
@@ -0,0 +1,107 @@
+package api_tests.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import configs.LoaderConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static api_tests.constants.ApiConstants.Headers;
+import static api_tests.constants.ApiConstants.RequestParams;
+
+/**
+ * Режим захвата: каждый исходящий запрос ApiClient дописывается строкой JSON в файл {@code CAPTURE_FILE}
+ * (JSONL, по строке на запрос). Запись буферизуется и сбрасывается на диск в {@link #close()}; фильтр из
+ * {@link #fromConfig()} закрывается при завершении JVM. Значение {@code X-Api-Key}, совпадающее с ключом
+ * из конфигурации, заменяется на {@link CapturedRequest#REDACTED_API_KEY}, заведомо неверные ключи
+ * негативных сценариев пишутся как есть.
+ */
+public class TrafficCaptureFilter implements OrderedFilter, AutoCloseable {
+
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private final Path file;
+    private final SequenceWriter writer;
+
+    public TrafficCaptureFilter(Path file) {
+        this.file = file;
+        ObjectMapper mapper = new ObjectMapper().disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            writer = mapper.writer().withRootValueSeparator(System.lineSeparator()).writeValues(file.toFile());
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось открыть файл захвата запросов: %s", file);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+
+    /**
+     * Возвращает фильтр, если задано свойство {@code CAPTURE_FILE}, иначе null.
+     */
+    public static TrafficCaptureFilter fromConfig() {
+        String captureFile = config.getStringProperty("CAPTURE_FILE", "");
+        if (captureFile.isBlank()) {
+            return null;
+        }
+        TrafficCaptureFilter filter = new TrafficCaptureFilter(Path.of(captureFile));
+        Runtime.getRuntime().addShutdownHook(new Thread(filter::close));
+        return filter;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.put(header.getName(), redact(header));
+        }
+        Map<String, String> form = requestSpec.getFormParams();
+        write(new CapturedRequest(ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()), requestSpec.getMethod(),
+                requestSpec.getBaseUri(), headers, form.get(RequestParams.TOKEN), form.get(RequestParams.ACTION)));
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    private static String redact(Header header) {
+        return header.getName().equalsIgnoreCase(Headers.API_KEY) && header.getValue().equals(config.getApiKey())
+                ? CapturedRequest.REDACTED_API_KEY : header.getValue();
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось записать файл захвата запросов: %s", file);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+
+    private synchronized void write(CapturedRequest request) {
+        try {
+            writer.write(request);
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось записать запрос в файл захвата: %s", file);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+}
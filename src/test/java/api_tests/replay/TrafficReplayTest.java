@@ -0,0 +1,76 @@
+package api_tests.replay;
+
+import api_tests.client.ApiClient;
+import api_tests.load.LoadReport;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import configs.LoaderConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static api_tests.constants.ApiConstants.*;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Захват и повтор трафика ApiClient")
+class TrafficReplayTest {
+
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private static final String TOKEN = "A1B2C3D4E5F6A7B8C9D0E1F2A3B4C5D6";
+    private static final String WRONG_API_KEY = "wrongApiKey";
+
+    private final WireMockServer recorded = new WireMockServer(wireMockConfig().dynamicPort());
+    private final WireMockServer target = new WireMockServer(wireMockConfig().dynamicPort());
+
+    @BeforeEach
+    void startServers() {
+        for (WireMockServer server : List.of(recorded, target)) {
+            server.start();
+            server.stubFor(post(urlEqualTo(Endpoints.BASE_ENDPOINT)).willReturn(okJson("{\"result\":\"OK\"}")));
+        }
+    }
+
+    @AfterEach
+    void stopServers() {
+        recorded.stop();
+        target.stop();
+    }
+
+    @Test
+    @DisplayName("Записанные вызовы повторяются на другом адресе с теми же телом и заголовками")
+    void capturedCallsReplayAgainstTarget(@TempDir Path dir) throws IOException {
+        Path captureFile = dir.resolve("traffic.jsonl");
+        try (TrafficCaptureFilter capture = new TrafficCaptureFilter(captureFile)) {
+            ApiClient client = new ApiClient(recorded.baseUrl(), config.getApiKey(), TOKEN, List.of(capture));
+            client.sendPostRequest(Actions.LOGIN);
+            client.sendPostRequest(Actions.ACTION);
+            client.sendPostRequest(Actions.LOGOUT);
+            new ApiClient(recorded.baseUrl(), WRONG_API_KEY, TOKEN, List.of(capture)).sendPostRequest(Actions.LOGIN);
+        }
+        String journal = Files.readString(captureFile);
+        assertEquals(4, journal.lines().count(), "Число строк журнала захвата");
+        assertFalse(journal.contains(config.getApiKey()), "Рабочий ключ записан в журнал в открытом виде");
+
+        LoadReport report = new TrafficReplayer(new ApiClient(), target.baseUrl(), config.getApiKey(),
+                Double.POSITIVE_INFINITY, 10).replay(captureFile);
+
+        assertEquals(0, report.sessionsDropped(), "Отброшенные запросы");
+        assertEquals(0, report.transportErrorCount(), "Ошибки соединения при повторе");
+        target.verify(4, postRequestedFor(urlEqualTo(Endpoints.BASE_ENDPOINT)));
+        for (String action : List.of(Actions.LOGIN, Actions.ACTION, Actions.LOGOUT)) {
+            target.verify(1, postRequestedFor(urlEqualTo(Endpoints.BASE_ENDPOINT))
+                    .withHeader(Headers.API_KEY, equalTo(config.getApiKey()))
+                    .withRequestBody(equalTo("token=" + TOKEN + "&action=" + action)));
+        }
+        target.verify(1, postRequestedFor(urlEqualTo(Endpoints.BASE_ENDPOINT))
+                .withHeader(Headers.API_KEY, equalTo(WRONG_API_KEY)));
+    }
+}
@@ -0,0 +1,108 @@
+package api_tests.replay;
+
+import api_tests.client.ApiClient;
+import api_tests.load.LoadMetrics;
+import api_tests.load.LoadReport;
+import api_tests.load.OpenModelScheduler;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Повтор журнала захвата. Файл читается потоково, по одной записи, поэтому его размер не ограничен памятью.
+ * Запросы отправляются по открытой модели ({@link OpenModelScheduler}) в исходном темпе, ускоренном
+ * в {@code speed} раз или без пауз ({@code speed} = бесконечность); задержки считаются от запланированного момента
+ * отправки.
+ */
+public class TrafficReplayer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ApiClient apiClient;
+    private final String targetUrl;
+    private final String apiKey;
+    private final double speed;
+    private final int maxInFlight;
+
+    /**
+     * @param targetUrl схема, хост и порт, на которые переносятся записанные запросы (путь сохраняется);
+     *                  null - отправлять на записанный адрес
+     * @param apiKey    ключ, подставляемый вместо скрытого при захвате {@code X-Api-Key}
+     */
+    public TrafficReplayer(ApiClient apiClient, String targetUrl, String apiKey, double speed, int maxInFlight) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Скорость повтора должна быть положительной: " + speed);
+        }
+        this.apiClient = apiClient;
+        this.targetUrl = targetUrl;
+        this.apiKey = apiKey;
+        this.speed = speed;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Разбирает скорость повтора: {@code max} - без пауз, иначе множитель исходного темпа.
+     */
+    public static double parseSpeed(String value) {
+        if ("max".equalsIgnoreCase(value.trim())) {
+            return Double.POSITIVE_INFINITY;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException("Некорректная скорость повтора: " + value, ex);
+        }
+    }
+
+    public LoadReport replay(Path captureFile) {
+        try (LoadMetrics metrics = new LoadMetrics()) {
+            return replay(captureFile, metrics);
+        }
+    }
+
+    public LoadReport replay(Path captureFile, LoadMetrics metrics) {
+        OpenModelScheduler.Result result;
+        try (MappingIterator<CapturedRequest> requests = MAPPER.readerFor(CapturedRequest.class)
+                .readValues(captureFile.toFile())) {
+            result = new OpenModelScheduler(maxInFlight).run(requests,
+                    (first, request) -> offsetNanos(request.timestampMicros() - first.timestampMicros()),
+                    (request, index, intendedNanos) -> send(request.withApiKey(apiKey), metrics, intendedNanos));
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось прочитать журнал захвата: %s", captureFile);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+        return metrics.snapshot(result.elapsed(), result.started(), result.dropped());
+    }
+
+    private void send(CapturedRequest request, LoadMetrics metrics, long intendedNanos) {
+        String action = String.valueOf(request.action());
+        long sendNanos = System.nanoTime();
+        try {
+            Response response = apiClient.sendRequest(request.method(), rebase(request.url()), request.headers(),
+                    request.token(), request.action());
+            metrics.recordResponse(action, response.getStatusCode(), intendedNanos, sendNanos, System.nanoTime());
+        } catch (Exception e) {
+            metrics.recordTransportError(action, e, intendedNanos, sendNanos, System.nanoTime());
+        }
+    }
+
+    private String rebase(String url) {
+        if (targetUrl == null) {
+            return url;
+        }
+        URI target = URI.create(targetUrl);
+        URI recorded = URI.create(url);
+        return target.getScheme() + "://" + target.getRawAuthority()
+                + (recorded.getRawPath() == null ? "" : recorded.getRawPath());
+    }
+
+    private long offsetNanos(long offsetMicros) {
+        return Double.isInfinite(speed) ? 0 : (long) (TimeUnit.MICROSECONDS.toNanos(offsetMicros) / speed);
+    }
+}
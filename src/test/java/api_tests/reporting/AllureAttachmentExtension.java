@@ -0,0 +1,28 @@
+package api_tests.reporting;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public class AllureAttachmentExtension implements BeforeEachCallback, AfterEachCallback, AfterAllCallback {
+
+    private static final long FLUSH_TIMEOUT_MILLIS = 10_000;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (AllureAttachmentFilter.getInstance().getPolicy() == AttachmentPolicy.ON_FAILURE) {
+            AllureAttachmentFilter.openFailureBuffer();
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        AllureAttachmentFilter.closeFailureBuffer(context.getExecutionException().isPresent());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        AllureAttachmentFilter.getInstance().getWriter().flush(FLUSH_TIMEOUT_MILLIS);
+    }
+}
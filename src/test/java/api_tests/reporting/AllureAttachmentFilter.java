@@ -0,0 +1,172 @@
+package api_tests.reporting;
+
+import configs.LoaderConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.internal.NameAndValue;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Замена AllureRestAssured с политикой вложений {@link AttachmentPolicy}. В потоке запроса снимаются только данные
+ * запроса и ответа, HTML-вложения рендерит и пишет {@link AllureResultsWriter}. Для ON_FAILURE последние обмены
+ * теста хранятся в буфере и записываются {@link AllureAttachmentExtension}, только если тест упал.
+ */
+public class AllureAttachmentFilter implements OrderedFilter {
+
+    private static final String HIDDEN_PLACEHOLDER = "[ BLACKLISTED ]";
+    private static final String REQUEST_TEMPLATE = "http-request.ftl";
+    private static final String RESPONSE_TEMPLATE = "http-response.ftl";
+    private static final String REQUEST_ATTACHMENT_NAME = "Request";
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private static final InheritableThreadLocal<FailureBuffer> FAILURE_BUFFER = new InheritableThreadLocal<>();
+    private static final AllureAttachmentFilter INSTANCE = new AllureAttachmentFilter(
+            parsePolicy(config.getStringProperty("ALLURE_ATTACHMENTS", AttachmentPolicy.ALWAYS.name())),
+            config.getIntProperty("ALLURE_SAMPLE_RATE", 100),
+            config.getIntProperty("ALLURE_FAILURE_BUFFER", 50),
+            AllureResultsWriter.start(config.getIntProperty("ALLURE_WRITER_QUEUE", 10_000)));
+
+    private final AttachmentPolicy policy;
+    private final int sampleRate;
+    private final int failureBufferSize;
+    private final AllureResultsWriter writer;
+    private final AtomicLong calls = new AtomicLong();
+
+    public AllureAttachmentFilter(AttachmentPolicy policy, int sampleRate, int failureBufferSize,
+                                  AllureResultsWriter writer) {
+        if (sampleRate <= 0 || failureBufferSize <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Частота выборки (%d) и размер буфера (%d) вложений должны быть положительными",
+                    sampleRate, failureBufferSize));
+        }
+        this.policy = policy;
+        this.sampleRate = sampleRate;
+        this.failureBufferSize = failureBufferSize;
+        this.writer = writer;
+    }
+
+    public static AllureAttachmentFilter getInstance() {
+        return INSTANCE;
+    }
+
+    public AttachmentPolicy getPolicy() {
+        return policy;
+    }
+
+    public AllureResultsWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        // вне теста (например прогрев в beforeAll) прикладывать некуда
+        if (policy == AttachmentPolicy.NONE
+                || Allure.getLifecycle().getCurrentTestCaseOrStep().isEmpty()
+                || policy == AttachmentPolicy.SAMPLED && calls.getAndIncrement() % sampleRate != 0) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Set<String> hiddenHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        hiddenHeaders.addAll(requestSpec.getConfig().getLogConfig().blacklistedHeaders());
+        HttpRequestAttachment.Builder request = HttpRequestAttachment.Builder
+                .create(REQUEST_ATTACHMENT_NAME, requestSpec.getURI())
+                .setMethod(requestSpec.getMethod())
+                .setHeaders(toMap(requestSpec.getHeaders(), hiddenHeaders))
+                .setCookies(toMap(requestSpec.getCookies(), hiddenHeaders))
+                .setFormParams(new LinkedHashMap<>(requestSpec.getFormParams()));
+        if (requestSpec.getBody() != null) {
+            request.setBody(new Prettifier().getPrettifiedBodyIfPossible(requestSpec));
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        // тело буферизуется здесь: ленивое чтение потока из фонового потока конкурирует с тестом
+        response.getBody().asByteArray();
+        Exchange exchange = new Exchange(request, response, hiddenHeaders);
+        if (policy == AttachmentPolicy.ON_FAILURE) {
+            FailureBuffer buffer = FAILURE_BUFFER.get();
+            if (buffer != null) {
+                buffer.add(exchange, failureBufferSize);
+            }
+        } else {
+            submit(exchange);
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE;
+    }
+
+    static void openFailureBuffer() {
+        FAILURE_BUFFER.set(new FailureBuffer());
+    }
+
+    static void closeFailureBuffer(boolean failed) {
+        FailureBuffer buffer = FAILURE_BUFFER.get();
+        FAILURE_BUFFER.remove();
+        if (buffer != null && failed) {
+            buffer.drain().forEach(INSTANCE::submit);
+        }
+    }
+
+    private void submit(Exchange exchange) {
+        Response response = exchange.response();
+        writer.submit(REQUEST_ATTACHMENT_NAME, REQUEST_TEMPLATE, exchange.request()::build);
+        writer.submit(response.getStatusLine(), RESPONSE_TEMPLATE, () -> HttpResponseAttachment.Builder
+                .create(response.getStatusLine())
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders(), exchange.hiddenHeaders()))
+                .setBody(new Prettifier().getPrettifiedBodyIfPossible(response, response.getBody()))
+                .build());
+    }
+
+    private static Map<String, String> toMap(Iterable<? extends NameAndValue> items, Set<String> hidden) {
+        Map<String, String> result = new HashMap<>();
+        items.forEach(item -> result.put(item.getName(),
+                hidden.contains(item.getName()) ? HIDDEN_PLACEHOLDER : item.getValue()));
+        return result;
+    }
+
+    private static AttachmentPolicy parsePolicy(String value) {
+        try {
+            return AttachmentPolicy.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            String errorMsg = String.format("Неизвестная политика вложений Allure: %s", value);
+            throw new IllegalStateException(errorMsg, ex);
+        }
+    }
+
+    private record Exchange(HttpRequestAttachment.Builder request, Response response, Set<String> hiddenHeaders) {
+    }
+
+    private static final class FailureBuffer {
+        private final Deque<Exchange> exchanges = new ArrayDeque<>();
+
+        synchronized void add(Exchange exchange, int limit) {
+            if (exchanges.size() == limit) {
+                exchanges.removeFirst();
+            }
+            exchanges.addLast(exchange);
+        }
+
+        synchronized Deque<Exchange> drain() {
+            Deque<Exchange> drained = new ArrayDeque<>(exchanges);
+            exchanges.clear();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package api_tests.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentContent;
+import io.qameta.allure.attachment.AttachmentData;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Фоновая запись вложений Allure. В вызывающем потоке вложение только регистрируется в текущем тесте или шаге,
+ * рендеринг шаблона и запись файла выполняет отдельный поток пачками. При переполнении очереди вложение
+ * отбрасывается, а не тормозит запросы.
+ */
+public class AllureResultsWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AllureResultsWriter.class);
+    private static final int BATCH_SIZE = 256;
+    private static final String CONTENT_TYPE = "text/html";
+    private static final String FILE_EXTENSION = ".html";
+    private static final long SHUTDOWN_FLUSH_MILLIS = 30_000;
+
+    private final AllureLifecycle lifecycle = Allure.getLifecycle();
+    private final BlockingQueue<PendingAttachment> queue = new LinkedBlockingQueue<>();
+    private final int queueCapacity;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object drained = new Object();
+
+    private AllureResultsWriter(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Размер очереди вложений должен быть положительным: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /** Создает writer, запускает его поток и дописывает очередь при завершении JVM. */
+    public static AllureResultsWriter start(int queueCapacity) {
+        AllureResultsWriter writer = new AllureResultsWriter(queueCapacity);
+        Thread.ofPlatform().name("allure-results-writer").daemon().start(writer::drainLoop);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writer.flush(SHUTDOWN_FLUSH_MILLIS)));
+        return writer;
+    }
+
+    public void submit(String name, String template, Supplier<? extends AttachmentData> data) {
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        String source = lifecycle.prepareAttachment(name, CONTENT_TYPE, FILE_EXTENSION);
+        queue.add(new PendingAttachment(source, template, data));
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (drained) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return;
+                }
+                try {
+                    drained.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingAttachment> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            batch.forEach(this::write);
+            pending.addAndGet(-batch.size());
+            batch.clear();
+            synchronized (drained) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    private void write(PendingAttachment attachment) {
+        try {
+            AttachmentContent content = new FreemarkerAttachmentRenderer(attachment.template())
+                    .render(attachment.data().get());
+            lifecycle.writeAttachment(attachment.source(),
+                    new ByteArrayInputStream(content.getContent().getBytes(StandardCharsets.UTF_8)));
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось записать вложение Allure {}", attachment.source(), ex);
+        }
+    }
+
+    private record PendingAttachment(String source, String template, Supplier<? extends AttachmentData> data) {
+    }
+}
@@ -0,0 +1,6 @@
+package api_tests.reporting;
+
+/**
+ * Когда вложения запроса и ответа попадают в Allure: всегда, только для упавших тестов, каждый N-й вызов или никогда.
+ */
+public enum AttachmentPolicy { ALWAYS, ON_FAILURE, SAMPLED, NONE }
@@ -0,0 +1,97 @@
+package api_tests.soak;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Тренд удерживаемого heap по замерам {@link HeapSample}. Замеры первой доли {@code warmupFraction} прогона
+ * (прогрев JIT, кэшей, пулов) отбрасываются, по остальным строится линейная регрессия: рост - наклон, умноженный
+ * на длительность окна, что устойчивее к шуму отдельных замеров, чем разность первого и последнего.
+ */
+public record HeapGrowthReport(List<HeapSample> samples, double warmupFraction, double sessionsPerSecond) {
+
+    public List<HeapSample> window() {
+        if (samples.isEmpty()) {
+            return List.of();
+        }
+        long warmupNanos = (long) (samples.get(samples.size() - 1).elapsed().toNanos() * warmupFraction);
+        return samples.stream().filter(sample -> sample.elapsed().toNanos() >= warmupNanos).toList();
+    }
+
+    public Duration windowDuration() {
+        List<HeapSample> window = window();
+        return window.size() < 2 ? Duration.ZERO
+                : window.get(window.size() - 1).elapsed().minus(window.get(0).elapsed());
+    }
+
+    /** Наклон регрессии удерживаемого heap, байт в секунду; 0, если в окне меньше двух замеров. */
+    public double slopeBytesPerSecond() {
+        List<HeapSample> window = window();
+        if (window.size() < 2) {
+            return 0;
+        }
+        double meanTime = 0;
+        double meanBytes = 0;
+        for (HeapSample sample : window) {
+            meanTime += seconds(sample);
+            meanBytes += sample.retainedBytes();
+        }
+        meanTime /= window.size();
+        meanBytes /= window.size();
+        double covariance = 0;
+        double variance = 0;
+        for (HeapSample sample : window) {
+            double time = seconds(sample) - meanTime;
+            covariance += time * (sample.retainedBytes() - meanBytes);
+            variance += time * time;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    public double growthBytes() {
+        return slopeBytesPerSecond() * windowDuration().toNanos() / 1e9;
+    }
+
+    /** Рост, приходящийся на одну сессию окна: порядка размера записи о токене означает, что LOGOUT ее не удаляет. */
+    public double growthBytesPerSession() {
+        double sessions = sessionsPerSecond * windowDuration().toNanos() / 1e9;
+        return sessions == 0 ? 0 : growthBytes() / sessions;
+    }
+
+    public String summary() {
+        List<HeapSample> window = window();
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Замеров: %d, в окне анализа: %d (%d с)%n",
+                samples.size(), window.size(), windowDuration().toSeconds()));
+        if (!window.isEmpty()) {
+            HeapSample first = window.get(0);
+            HeapSample last = window.get(window.size() - 1);
+            summary.append(String.format("Удерживаемый heap: %.1f МБ → %.1f МБ, выделено %.1f МБ%n",
+                    megabytes(first.retainedBytes()), megabytes(last.retainedBytes()),
+                    megabytes(last.committedBytes())));
+            summary.append(String.format("Сборок мусора в окне (включая принудительные): %d, время GC: %d мс%n",
+                    last.gcCount() - first.gcCount(), last.gcTimeMillis() - first.gcTimeMillis()));
+        }
+        summary.append(String.format("Тренд: %.1f КБ/мин, рост за окно: %.2f МБ, на сессию: %.1f байт%n",
+                slopeBytesPerSecond() * 60 / 1024, megabytes(growthBytes()), growthBytesPerSession()));
+        return summary.toString();
+    }
+
+    public String csv() {
+        StringBuilder csv = new StringBuilder("elapsed_s,retained_bytes,committed_bytes,gc_count,gc_time_ms\n");
+        for (HeapSample sample : samples) {
+            csv.append(String.format(Locale.ROOT, "%.1f,%d,%d,%d,%d%n", seconds(sample), sample.retainedBytes(),
+                    sample.committedBytes(), sample.gcCount(), sample.gcTimeMillis()));
+        }
+        return csv.toString();
+    }
+
+    private static double seconds(HeapSample sample) {
+        return sample.elapsed().toNanos() / 1e9;
+    }
+
+    private static double megabytes(double bytes) {
+        return bytes / (1024 * 1024);
+    }
+}
@@ -0,0 +1,10 @@
+package api_tests.soak;
+
+import java.time.Duration;
+
+/**
+ * Замер heap тестируемого сервиса сразу после полной сборки мусора: {@code retainedBytes} - занятый heap,
+ * то есть объем живых объектов. Счетчики GC накопительные с момента старта процесса.
+ */
+public record HeapSample(Duration elapsed, long retainedBytes, long committedBytes, long gcCount, long gcTimeMillis) {
+}
@@ -0,0 +1,115 @@
+package api_tests.soak;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Периодически снимает heap тестируемого сервиса через JMX. Перед каждым замером вызывается полная сборка
+ * мусора ({@code MemoryMXBean.gc()}), поэтому замер показывает удерживаемый объем, а не мусор между сборками.
+ * Сервис не должен запускаться с {@code -XX:+DisableExplicitGC}.
+ */
+public class ServiceHeapMonitor implements AutoCloseable {
+
+    private final JMXConnector connector;
+    private final MemoryMXBean memory;
+    private final List<GarbageCollectorMXBean> collectors;
+    private final List<HeapSample> samples = new ArrayList<>();
+    private final AtomicReference<Exception> samplingError = new AtomicReference<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "service-heap-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long startNanos = System.nanoTime();
+
+    public ServiceHeapMonitor(String jmxServiceUrl) {
+        try {
+            connector = JMXConnectorFactory.connect(new JMXServiceURL(jmxServiceUrl));
+            MBeanServerConnection connection = connector.getMBeanServerConnection();
+            memory = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME,
+                    MemoryMXBean.class);
+            collectors = ManagementFactory.getPlatformMXBeans(connection, GarbageCollectorMXBean.class);
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось подключиться к JMX тестируемого сервиса: %s", jmxServiceUrl);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+
+    /** Первый замер сразу, следующие - с интервалом {@code interval}. */
+    public void start(Duration interval) {
+        startNanos = System.nanoTime();
+        scheduler.scheduleAtFixedRate(this::sampleQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Внеочередной замер, например после снятия нагрузки. */
+    public HeapSample sampleNow() {
+        memory.gc();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        long gcCount = 0;
+        long gcTimeMillis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTimeMillis += Math.max(0, collector.getCollectionTime());
+        }
+        HeapSample sample = new HeapSample(Duration.ofNanos(System.nanoTime() - startNanos), heap.getUsed(),
+                heap.getCommitted(), gcCount, gcTimeMillis);
+        synchronized (samples) {
+            samples.add(sample);
+        }
+        return sample;
+    }
+
+    public List<HeapSample> samples() {
+        synchronized (samples) {
+            return List.copyOf(samples);
+        }
+    }
+
+    /** Первая ошибка периодического замера (например, процесс сервиса завершился) или {@code null}. */
+    public Exception samplingError() {
+        return samplingError.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeConnector();
+        }
+    }
+
+    private void closeConnector() {
+        try {
+            connector.close();
+        } catch (IOException ignored) {
+            // соединение с завершившимся процессом закрыть нельзя, замеры уже получены
+        }
+    }
+
+    private void sampleQuietly() {
+        try {
+            sampleNow();
+        } catch (RuntimeException ex) {
+            samplingError.compareAndSet(null, ex);
+        }
+    }
+}
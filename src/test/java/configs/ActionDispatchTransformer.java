@@ -0,0 +1,198 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.responseDefinition;
+
+/**
+ * Единственный стаб POST /endpoint вместо набора стабов с regex-матчерами по телу: тело формы разбирается один раз,
+ * заголовки, token и action сводятся к классам, а ответ берется из заранее построенной таблицы по этим классам.
+ * Таблица повторяет приоритеты прежних стабов (позже добавленный стаб побеждал).
+ */
+public class ActionDispatchTransformer implements ResponseDefinitionTransformerV2 {
+
+    public static final String NAME = "action-dispatch";
+
+    private static final String API_KEY = "qazWSXedc";
+    private static final String RESERVED_TOKEN = "AAAABBBBCCCCDDDDEEEEFFFF12345678";
+    private static final String INCORRECT_TOKEN_PREFIX = "incorrect";
+    private static final String INCORRECT_ACTION_PREFIX = "INCORRECT";
+
+    private static final ResponseDefinition OK = response(200, "{\"result\":\"OK\"}");
+    private static final ResponseDefinition BAD_REQUEST = response(400, "{\"error\":\"Bad Request\"}");
+    private static final ResponseDefinition UNAUTHORIZED = response(401, "{\"error\":\"Unauthorized\"}");
+    private static final ResponseDefinition NOT_FOUND = response(404, "{\"error\":\"Not Found\"}");
+
+    enum HeaderClass { VALID, EMPTY_CONTENT_TYPE, EMPTY_API_KEY, INCORRECT_API_KEY, OTHER }
+
+    enum TokenClass { MISSING, EMPTY, RESERVED, INCORRECT, OTHER }
+
+    enum ActionClass { MISSING, EMPTY, LOGIN, ACTION, LOGOUT, INCORRECT, OTHER }
+
+    private record DispatchKey(HeaderClass header, TokenClass token, ActionClass action) {
+    }
+
+    private final Map<DispatchKey, ResponseDefinition> dispatchTable;
+
+    public ActionDispatchTransformer() {
+        dispatchTable = new HashMap<>();
+        for (HeaderClass header : HeaderClass.values()) {
+            for (TokenClass token : TokenClass.values()) {
+                for (ActionClass action : ActionClass.values()) {
+                    dispatchTable.put(new DispatchKey(header, token, action), resolve(header, token, action));
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        Request request = serveEvent.getRequest();
+        Map<FormField, String> form = parseForm(request.getBodyAsString());
+        DispatchKey key = new DispatchKey(
+                classifyHeaders(request),
+                classifyToken(form.get(FormField.TOKEN)),
+                classifyAction(form.get(FormField.ACTION)));
+        return dispatchTable.get(key);
+    }
+
+    private static ResponseDefinition resolve(HeaderClass header, TokenClass token, ActionClass action) {
+        if (action == ActionClass.LOGOUT || action == ActionClass.ACTION) {
+            return UNAUTHORIZED;
+        }
+        if (action == ActionClass.INCORRECT) {
+            return BAD_REQUEST;
+        }
+        if (token == TokenClass.INCORRECT) {
+            return UNAUTHORIZED;
+        }
+        if ((token == TokenClass.RESERVED || token == TokenClass.EMPTY) && action != ActionClass.MISSING) {
+            return BAD_REQUEST;
+        }
+        if (header == HeaderClass.EMPTY_CONTENT_TYPE) {
+            return BAD_REQUEST;
+        }
+        if (header == HeaderClass.EMPTY_API_KEY || header == HeaderClass.INCORRECT_API_KEY) {
+            return UNAUTHORIZED;
+        }
+        if (header == HeaderClass.VALID && action == ActionClass.LOGIN && token != TokenClass.MISSING) {
+            return OK;
+        }
+        return NOT_FOUND;
+    }
+
+    private static HeaderClass classifyHeaders(Request request) {
+        HttpHeader contentType = request.header("Content-Type");
+        HttpHeader apiKey = request.header("X-Api-Key");
+        HttpHeader accept = request.header("Accept");
+        if (contentType.isPresent() && contentType.firstValue().isEmpty()) {
+            return HeaderClass.EMPTY_CONTENT_TYPE;
+        }
+        if (apiKey.isPresent() && apiKey.firstValue().isEmpty()) {
+            return HeaderClass.EMPTY_API_KEY;
+        }
+        if (apiKey.isPresent() && apiKey.firstValue().equals("incorrect-key")) {
+            return HeaderClass.INCORRECT_API_KEY;
+        }
+        boolean valid = contentType.isPresent()
+                && contentType.firstValue().contains("application/x-www-form-urlencoded")
+                && accept.isPresent() && accept.firstValue().contains("application/json")
+                && apiKey.isPresent() && apiKey.firstValue().equals(API_KEY);
+        return valid ? HeaderClass.VALID : HeaderClass.OTHER;
+    }
+
+    private static TokenClass classifyToken(String token) {
+        if (token == null) {
+            return TokenClass.MISSING;
+        }
+        if (token.isEmpty()) {
+            return TokenClass.EMPTY;
+        }
+        if (token.equals(RESERVED_TOKEN)) {
+            return TokenClass.RESERVED;
+        }
+        if (token.startsWith(INCORRECT_TOKEN_PREFIX)) {
+            return TokenClass.INCORRECT;
+        }
+        return TokenClass.OTHER;
+    }
+
+    private static ActionClass classifyAction(String action) {
+        if (action == null) {
+            return ActionClass.MISSING;
+        }
+        if (action.startsWith(INCORRECT_ACTION_PREFIX)) {
+            return ActionClass.INCORRECT;
+        }
+        return switch (action) {
+            case "" -> ActionClass.EMPTY;
+            case "LOGIN" -> ActionClass.LOGIN;
+            case "ACTION" -> ActionClass.ACTION;
+            case "LOGOUT" -> ActionClass.LOGOUT;
+            default -> ActionClass.OTHER;
+        };
+    }
+
+    private enum FormField { TOKEN, ACTION }
+
+    private static Map<FormField, String> parseForm(String body) {
+        Map<FormField, String> form = new EnumMap<>(FormField.class);
+        if (body == null || body.isEmpty()) {
+            return form;
+        }
+        int start = 0;
+        while (start <= body.length()) {
+            int end = body.indexOf('&', start);
+            if (end < 0) {
+                end = body.length();
+            }
+            int separator = body.indexOf('=', start);
+            if (separator > start && separator < end) {
+                FormField field = fieldOf(body, start, separator);
+                if (field != null) {
+                    form.putIfAbsent(field, URLDecoder.decode(body.substring(separator + 1, end), StandardCharsets.UTF_8));
+                }
+            }
+            start = end + 1;
+        }
+        return form;
+    }
+
+    private static FormField fieldOf(String body, int start, int end) {
+        if (end - start == 5 && body.startsWith("token", start)) {
+            return FormField.TOKEN;
+        }
+        if (end - start == 6 && body.startsWith("action", start)) {
+            return FormField.ACTION;
+        }
+        return null;
+    }
+
+    private static ResponseDefinition response(int status, String body) {
+        return responseDefinition()
+                .withStatus(status)
+                .withHeader("Content-Type", "application/json")
+                .withBody(body)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Сбой ответа внешнего сервиса, применяемый к доле запросов {@code probability}.
+ * Текстовый формат для конфигурации: {@code none}, {@code error:503:0.5} (статус и доля запросов),
+ * {@code reset:0.5} (сброс соединения), {@code empty:0.5} (соединение закрывается без ответа),
+ * {@code dribble:5000:10:1} (тело отдается частями за указанное число миллисекунд, число частей и доля запросов).
+ */
+public sealed interface BackendFault {
+
+    ResponseDefinition apply(ResponseDefinition response);
+
+    static BackendFault none() {
+        return new None();
+    }
+
+    static BackendFault parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "none" -> none();
+                case "error" -> new ErrorStatus(Integer.parseInt(parts[1]), Double.parseDouble(parts[2]));
+                case "reset" -> new ConnectionReset(Double.parseDouble(parts[1]));
+                case "empty" -> new EmptyResponse(Double.parseDouble(parts[1]));
+                case "dribble" -> new SlowBody(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                        Double.parseDouble(parts[3]));
+                default -> throw new IllegalArgumentException("Неизвестный тип сбоя: " + parts[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Некорректное описание сбоя: " + spec, ex);
+        }
+    }
+
+    private static boolean affects(double probability) {
+        return probability >= 1 || ThreadLocalRandom.current().nextDouble() < probability;
+    }
+
+    private static void checkProbability(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Доля запросов со сбоем должна быть в диапазоне [0, 1]: " + probability);
+        }
+    }
+
+    record None() implements BackendFault {
+        @Override
+        public ResponseDefinition apply(ResponseDefinition response) {
+            return response;
+        }
+    }
+
+    record ErrorStatus(int status, double probability) implements BackendFault {
+        public ErrorStatus {
+            if (status < 500 || status > 599) {
+                throw new IllegalArgumentException("Ожидается статус 5xx: " + status);
+            }
+            checkProbability(probability);
+        }
+
+        @Override
+        public ResponseDefinition apply(ResponseDefinition response) {
+            if (!affects(probability)) {
+                return response;
+            }
+            return ResponseDefinitionBuilder.like(response)
+                    .withStatus(status)
+                    .withBody("{\"error\":\"Injected Fault\"}")
+                    .build();
+        }
+    }
+
+    record ConnectionReset(double probability) implements BackendFault {
+        public ConnectionReset {
+            checkProbability(probability);
+        }
+
+        @Override
+        public ResponseDefinition apply(ResponseDefinition response) {
+            if (!affects(probability)) {
+                return response;
+            }
+            return ResponseDefinitionBuilder.like(response).withFault(Fault.CONNECTION_RESET_BY_PEER).build();
+        }
+    }
+
+    record EmptyResponse(double probability) implements BackendFault {
+        public EmptyResponse {
+            checkProbability(probability);
+        }
+
+        @Override
+        public ResponseDefinition apply(ResponseDefinition response) {
+            if (!affects(probability)) {
+                return response;
+            }
+            return ResponseDefinitionBuilder.like(response).withFault(Fault.EMPTY_RESPONSE).build();
+        }
+    }
+
+    record SlowBody(int durationMillis, int chunks, double probability) implements BackendFault {
+        public SlowBody {
+            if (durationMillis <= 0 || chunks <= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Некорректные параметры медленного тела: %d мс, %d частей", durationMillis, chunks));
+            }
+            checkProbability(probability);
+        }
+
+        @Override
+        public ResponseDefinition apply(ResponseDefinition response) {
+            if (!affects(probability)) {
+                return response;
+            }
+            return ResponseDefinitionBuilder.like(response).withChunkedDribbleDelay(chunks, durationMillis).build();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Применяет к ответам эндпоинтов внешнего сервиса текущий {@link BackendFault} этого эндпоинта. Сбой переключается
+ * во время прогона (например {@link ChaosTimeline}): каждый запрос берет актуальный сбой.
+ */
+public class BackendFaultTransformer implements ResponseDefinitionTransformerV2 {
+
+    public static final String NAME = "backend-fault";
+
+    private final Map<String, BackendFault> faultsByPath = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        BackendFault fault = faultsByPath.get(serveEvent.getRequest().getUrl());
+        ResponseDefinition responseDefinition = serveEvent.getResponseDefinition();
+        return fault == null ? responseDefinition : fault.apply(responseDefinition);
+    }
+
+    public void setFault(String path, BackendFault fault) {
+        faultsByPath.put(path, fault);
+    }
+
+    public BackendFault getFault(String path) {
+        return faultsByPath.getOrDefault(path, BackendFault.none());
+    }
+
+    public void reset() {
+        faultsByPath.clear();
+    }
+}
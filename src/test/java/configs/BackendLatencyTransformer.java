@@ -0,0 +1,58 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Добавляет к ответам эндпоинтов внешнего сервиса задержку из текущего {@link LatencyProfile} этого эндпоинта.
+ * Профиль можно переключать во время прогона: каждый запрос берет актуальный профиль.
+ */
+public class BackendLatencyTransformer implements ResponseDefinitionTransformerV2 {
+
+    public static final String NAME = "backend-latency";
+
+    private final Map<String, LatencyProfile> profilesByPath = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        ResponseDefinition responseDefinition = serveEvent.getResponseDefinition();
+        LatencyProfile profile = profilesByPath.get(serveEvent.getRequest().getUrl());
+        if (profile == null) {
+            return responseDefinition;
+        }
+        long delayMillis = profile.sampleMillis();
+        if (delayMillis <= 0) {
+            return responseDefinition;
+        }
+        return ResponseDefinitionBuilder.like(responseDefinition)
+                .withFixedDelay((int) Math.min(delayMillis, Integer.MAX_VALUE))
+                .build();
+    }
+
+    public void setProfile(String path, LatencyProfile profile) {
+        profilesByPath.put(path, profile);
+    }
+
+    public LatencyProfile getProfile(String path) {
+        return profilesByPath.getOrDefault(path, LatencyProfile.none());
+    }
+
+    public void reset() {
+        profilesByPath.clear();
+    }
+}
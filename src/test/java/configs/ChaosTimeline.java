@@ -0,0 +1,113 @@
+package configs;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Расписание сбоев внешнего сервиса по фазам: в начале каждой фазы всем эндпоинтам расписания выставляются сбои
+ * этой фазы, эндпоинтам без сбоя в фазе - {@code none}. Текстовый формат для конфигурации - фазы через {@code ;},
+ * фаза - длительность в секундах и сбои эндпоинтов через {@code ,}, например
+ * {@code 20|none;15|/doAction=error:503:1;20|none;15|/auth=reset:0.5,/doAction=empty:0.5}.
+ * Формат сбоя - {@link BackendFault#parse}. Последняя фаза должна быть без сбоев: после нее измеряется
+ * восстановление. При закрытии сбои сбрасываются.
+ */
+public class ChaosTimeline implements AutoCloseable {
+
+    private final List<Phase> phases;
+    private final BackendFaultTransformer faults;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chaos-timeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public record Phase(Duration duration, Map<String, BackendFault> faults, String spec) {
+        public boolean faulty() {
+            return faults.values().stream().anyMatch(fault -> !(fault instanceof BackendFault.None));
+        }
+    }
+
+    public ChaosTimeline(List<Phase> phases, BackendFaultTransformer faults) {
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("Расписание сбоев не содержит фаз");
+        }
+        requireFaultFreeEnd(phases);
+        this.phases = List.copyOf(phases);
+        this.faults = faults;
+    }
+
+    public static List<Phase> parse(String spec) {
+        List<Phase> phases = new ArrayList<>();
+        for (String phaseSpec : spec.split(";")) {
+            if (phaseSpec.isBlank()) {
+                continue;
+            }
+            String[] parts = phaseSpec.trim().split("\\|");
+            try {
+                Duration duration = Duration.ofSeconds(Long.parseLong(parts[0].trim()));
+                if (duration.isNegative() || duration.isZero()) {
+                    throw new IllegalArgumentException("Длительность фазы должна быть положительной: " + phaseSpec);
+                }
+                Map<String, BackendFault> phaseFaults = new LinkedHashMap<>();
+                if (!parts[1].trim().equalsIgnoreCase("none")) {
+                    for (String faultSpec : parts[1].split(",")) {
+                        String[] pathAndFault = faultSpec.trim().split("=", 2);
+                        phaseFaults.put(pathAndFault[0].trim(), BackendFault.parse(pathAndFault[1]));
+                    }
+                }
+                phases.add(new Phase(duration, phaseFaults, parts[1].trim()));
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+                throw new IllegalArgumentException("Некорректное описание фазы сбоев: " + phaseSpec, ex);
+            }
+        }
+        requireFaultFreeEnd(phases);
+        return phases;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public Duration duration() {
+        return phases.stream().map(Phase::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /** Выставляет сбои первой фазы и планирует переключение остальных; возвращает момент старта (nanoTime). */
+    public long start() {
+        long startNanos = System.nanoTime();
+        apply(phases.get(0));
+        long offsetNanos = 0;
+        for (int i = 1; i < phases.size(); i++) {
+            offsetNanos += phases.get(i - 1).duration().toNanos();
+            Phase next = phases.get(i);
+            scheduler.schedule(() -> apply(next), startNanos + offsetNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+        return startNanos;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        faults.reset();
+    }
+
+    private static void requireFaultFreeEnd(List<Phase> phases) {
+        if (!phases.isEmpty() && phases.get(phases.size() - 1).faulty()) {
+            throw new IllegalArgumentException("Расписание сбоев должно заканчиваться фазой без сбоев, иначе " +
+                    "восстановление после последней фазы не измерить: " + phases.get(phases.size() - 1).spec());
+        }
+    }
+
+    private void apply(Phase phase) {
+        for (Phase any : phases) {
+            any.faults().keySet().forEach(path ->
+                    faults.setFault(path, phase.faults().getOrDefault(path, BackendFault.none())));
+        }
+    }
+}
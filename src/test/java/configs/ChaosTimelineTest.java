@@ -0,0 +1,78 @@
+package configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Разбор расписания сбоев ChaosTimeline")
+class ChaosTimelineTest {
+
+    @Test
+    @DisplayName("Фазы разбираются с длительностью, сбоями эндпоинтов и исходным описанием")
+    void parsesPhases() {
+        List<ChaosTimeline.Phase> phases = ChaosTimeline.parse(
+                "20|none; 15|/auth=reset:0.5,/doAction=error:503:1 ;;25|none");
+
+        assertEquals(3, phases.size());
+        assertEquals(Duration.ofSeconds(20), phases.get(0).duration());
+        assertFalse(phases.get(0).faulty());
+        assertTrue(phases.get(0).faults().isEmpty());
+        ChaosTimeline.Phase fault = phases.get(1);
+        assertEquals(Duration.ofSeconds(15), fault.duration());
+        assertTrue(fault.faulty());
+        assertEquals(List.of("/auth", "/doAction"), List.copyOf(fault.faults().keySet()));
+        assertInstanceOf(BackendFault.ConnectionReset.class, fault.faults().get("/auth"));
+        assertInstanceOf(BackendFault.ErrorStatus.class, fault.faults().get("/doAction"));
+        assertEquals("/auth=reset:0.5,/doAction=error:503:1", fault.spec());
+    }
+
+    @Test
+    @DisplayName("Фазы сбоев подряд допустимы, если за ними есть фаза без сбоев")
+    void acceptsConsecutiveFaultPhases() {
+        List<ChaosTimeline.Phase> phases = ChaosTimeline.parse(
+                "20|none;10|/doAction=error:503:1;10|/auth=reset:1;20|none");
+
+        assertEquals(List.of(false, true, true, false), phases.stream().map(ChaosTimeline.Phase::faulty).toList());
+    }
+
+    @Test
+    @DisplayName("Фаза с явным none для эндпоинта не считается фазой сбоя")
+    void explicitNoneIsNotFaulty() {
+        assertFalse(ChaosTimeline.parse("10|/doAction=none").get(0).faulty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "20|none;15|/doAction=error:503:1",
+            "20|none;15|/doAction=error:503:1;10|/auth=reset:1",
+            "15|/doAction=empty:0.5"
+    })
+    @DisplayName("Расписание, заканчивающееся фазой сбоев, отклоняется")
+    void rejectsTrailingFaultPhase(String spec) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ChaosTimeline.parse(spec));
+        assertTrue(error.getMessage().contains("заканчиваться фазой без сбоев"), error.getMessage());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"0|none", "-5|none", "x|none", "20", "20|/doAction=error:503", "20|/doAction=boom:1"})
+    @DisplayName("Некорректное описание фазы отклоняется")
+    void rejectsMalformedPhase(String spec) {
+        assertThrows(IllegalArgumentException.class, () -> ChaosTimeline.parse(spec));
+    }
+
+    @Test
+    @DisplayName("Пустое расписание не принимается конструктором")
+    void rejectsEmptyTimeline() {
+        List<ChaosTimeline.Phase> phases = ChaosTimeline.parse(" ; ");
+
+        assertTrue(phases.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new ChaosTimeline(phases, new BackendFaultTransformer()));
+    }
+}
@@ -0,0 +1,64 @@
+package configs;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * При {@code JFR_RECORDING=true} пишет запись Java Flight Recorder на время тестового класса в
+ * {@code target/jfr/<класс>.jfr}: события JVM по настройкам {@code JFR_SETTINGS} (default, profile) вместе
+ * с событиями вызовов ApiClient и запросов к WireMock. Запись охватывает весь процесс, поэтому при параллельном
+ * запуске классов в нее попадают и события соседних классов.
+ */
+public class JfrRecordingExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(JfrRecordingExtension.class);
+    private static final String RECORDING_KEY = "recording";
+    private static final Path RECORDINGS_DIR = Path.of("target", "jfr");
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!Boolean.parseBoolean(config.getStringProperty("JFR_RECORDING", "false"))) {
+            return;
+        }
+        String settings = config.getStringProperty("JFR_SETTINGS", "profile");
+        Path destination = RECORDINGS_DIR.resolve(context.getRequiredTestClass().getSimpleName() + ".jfr");
+        Recording recording;
+        try {
+            Files.createDirectories(RECORDINGS_DIR);
+            recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName(context.getDisplayName());
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось подготовить запись JFR: %s", destination);
+            throw new UncheckedIOException(errorMsg, ex);
+        } catch (ParseException ex) {
+            String errorMsg = String.format("Некорректные настройки JFR: %s", settings);
+            throw new IllegalStateException(errorMsg, ex);
+        }
+        recording.enable("api_tests.ApiCall");
+        recording.enable("api_tests.MockHit");
+        recording.start();
+        context.getStore(NAMESPACE).put(RECORDING_KEY, recording);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Recording recording = context.getStore(NAMESPACE).remove(RECORDING_KEY, Recording.class);
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+        }
+    }
+}
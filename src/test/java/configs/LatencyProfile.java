@@ -0,0 +1,111 @@
+package configs;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Распределение задержки ответа внешнего сервиса в миллисекундах.
+ * Текстовый формат для конфигурации: {@code none}, {@code fixed:5}, {@code uniform:5:50},
+ * {@code lognormal:5:0.5} (медиана и sigma), {@code bimodal:5:500:0.01} (медианы быстрой и медленной мод и доля хвоста).
+ */
+public sealed interface LatencyProfile {
+
+    double BIMODAL_SIGMA = 0.25;
+
+    long sampleMillis();
+
+    static LatencyProfile none() {
+        return new Fixed(0);
+    }
+
+    static LatencyProfile fixed(long millis) {
+        return new Fixed(millis);
+    }
+
+    static LatencyProfile uniform(long minMillis, long maxMillis) {
+        return new Uniform(minMillis, maxMillis);
+    }
+
+    static LatencyProfile logNormal(double medianMillis, double sigma) {
+        return new LogNormal(medianMillis, sigma);
+    }
+
+    static LatencyProfile bimodal(LatencyProfile fast, LatencyProfile tail, double tailProbability) {
+        return new Bimodal(fast, tail, tailProbability);
+    }
+
+    static LatencyProfile parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "none" -> none();
+                case "fixed" -> fixed(Long.parseLong(parts[1]));
+                case "uniform" -> uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                case "lognormal" -> logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "bimodal" -> bimodal(
+                        logNormal(Double.parseDouble(parts[1]), BIMODAL_SIGMA),
+                        logNormal(Double.parseDouble(parts[2]), BIMODAL_SIGMA),
+                        Double.parseDouble(parts[3]));
+                default -> throw new IllegalArgumentException("Неизвестный тип распределения: " + parts[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Некорректное описание распределения задержки: " + spec, ex);
+        }
+    }
+
+    record Fixed(long millis) implements LatencyProfile {
+        public Fixed {
+            if (millis < 0) {
+                throw new IllegalArgumentException("Задержка не может быть отрицательной: " + millis);
+            }
+        }
+
+        @Override
+        public long sampleMillis() {
+            return millis;
+        }
+    }
+
+    record Uniform(long minMillis, long maxMillis) implements LatencyProfile {
+        public Uniform {
+            if (minMillis < 0 || maxMillis < minMillis) {
+                throw new IllegalArgumentException(
+                        String.format("Некорректный диапазон задержки: [%d, %d]", minMillis, maxMillis));
+            }
+        }
+
+        @Override
+        public long sampleMillis() {
+            return ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+        }
+    }
+
+    record LogNormal(double medianMillis, double sigma) implements LatencyProfile {
+        public LogNormal {
+            if (medianMillis <= 0 || sigma < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Некорректные параметры log-normal: median=%s, sigma=%s", medianMillis, sigma));
+            }
+        }
+
+        @Override
+        public long sampleMillis() {
+            return Math.round(medianMillis * Math.exp(ThreadLocalRandom.current().nextGaussian() * sigma));
+        }
+    }
+
+    record Bimodal(LatencyProfile fast, LatencyProfile tail, double tailProbability) implements LatencyProfile {
+        public Bimodal {
+            if (tailProbability < 0 || tailProbability > 1) {
+                throw new IllegalArgumentException("Доля хвоста должна быть в диапазоне [0, 1]: " + tailProbability);
+            }
+        }
+
+        @Override
+        public long sampleMillis() {
+            return ThreadLocalRandom.current().nextDouble() < tailProbability
+                    ? tail.sampleMillis()
+                    : fast.sampleMillis();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package configs;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.Properties;
 
 public class LoaderConfig {
@@ -49,8 +51,26 @@ public class LoaderConfig {
         }
     }
 
+    /**
+     * Адрес тестируемого сервиса для текущего форка surefire: форк N обращается к порту из URL плюс N - 1,
+     * чтобы у каждого форка был свой экземпляр сервиса со своим WireMock.
+     */
     public String getUrl() {
-        return getRequiredProperty("URL");
+        return forkUrl(getRequiredProperty("URL"));
+    }
+
+    /** Номер форка surefire (1, 2, ...); вне surefire и без подстановки {@code ${surefire.forkNumber}} - 1. */
+    public int getForkNumber() {
+        String value = getOptionalProperty("FORK_NUMBER");
+        if (value == null || !value.matches("\\d+")) {
+            return 1;
+        }
+        return Integer.parseInt(value);
+    }
+
+    /** Смещение порта текущего форка относительно настроенного. */
+    public int getForkPortOffset() {
+        return getForkNumber() - 1;
     }
     public String getApiKey() {
         return getRequiredProperty("API_KEY");
@@ -59,8 +79,64 @@ public class LoaderConfig {
         return getRequiredProperty("TOKEN");
     }
 
+    public String getStringProperty(String key, String defaultValue) {
+        String value = getOptionalProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public int getIntProperty(String key, int defaultValue) {
+        String value = getOptionalProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException(String.format("Свойство '%s' должно быть целым числом: %s", key, value), ex);
+        }
+    }
+
+    public double getDoubleProperty(String key, double defaultValue) {
+        String value = getOptionalProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException(String.format("Свойство '%s' должно быть числом: %s", key, value), ex);
+        }
+    }
+
+    /** Порт из URL, для URL без порта - порт схемы по умолчанию (443 для https, иначе 80). */
+    static int portOf(URI uri) {
+        return uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private String forkUrl(String url) {
+        int offset = getForkPortOffset();
+        if (offset == 0) {
+            return url;
+        }
+        URI uri = URI.create(url);
+        try {
+            return new URI(uri.getScheme(), uri.getUserInfo(), uri.getHost(), portOf(uri) + offset, uri.getPath(),
+                    uri.getQuery(), uri.getFragment()).toString();
+        } catch (URISyntaxException ex) {
+            throw new IllegalStateException(String.format("Некорректный URL сервиса: %s", url), ex);
+        }
+    }
+
+    private String getOptionalProperty(String key) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
     private String getRequiredProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         if (value == null || value.trim().isEmpty()) {
             throw new IllegalStateException(String.format("Свойство '%s' отсутствует или пусто", key));
         }
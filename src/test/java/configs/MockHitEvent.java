@@ -0,0 +1,35 @@
+package configs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR-событие обработки запроса WireMock, от сопоставления со стабом до отправки ответа. Пишется
+ * {@link StubHitCounters}; без активной записи JFR не фиксируется.
+ */
+@Name("api_tests.MockHit")
+@Label("Запрос к WireMock")
+@Category({"API-Тесты", "WireMock"})
+@Description("Запрос тестируемого сервиса к замоканному внешнему сервису")
+@StackTrace(false)
+class MockHitEvent extends Event {
+
+    @Label("Эндпоинт")
+    String endpoint;
+
+    @Label("Стаб")
+    @Description("Имя или шаблон сработавшего стаба, пусто - запрос не сопоставлен")
+    String stub;
+
+    @Label("Статус")
+    int status;
+
+    @Label("Внесенная задержка")
+    @Timespan(Timespan.MILLISECONDS)
+    long injectedDelay;
+}
@@ -0,0 +1,41 @@
+package configs;
+
+import api_tests.reference.ReferenceServer;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+/**
+ * При {@code REFERENCE_SERVER=true} поднимает в процессе тестов {@link ReferenceServer} на порту из URL,
+ * подключенный к WireMock. Должен регистрироваться после {@link WireMockExtension}.
+ */
+public class ReferenceServerExtension implements BeforeAllCallback {
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private static ReferenceServer referenceServer;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!Boolean.parseBoolean(config.getStringProperty("REFERENCE_SERVER", "false"))) {
+            return;
+        }
+        synchronized (ReferenceServerExtension.class) {
+            if (referenceServer == null) {
+                int port = URI.create(config.getUrl()).getPort();
+                try {
+                    referenceServer = new ReferenceServer(port, config.getApiKey(), WireMockExtension.getMockUrl());
+                } catch (IOException ex) {
+                    String errorMsg = String.format("Не удалось запустить эталонный сервер на порту %d", port);
+                    throw new UncheckedIOException(errorMsg, ex);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(referenceServer::close));
+            }
+        }
+    }
+
+    public static ReferenceServer getReferenceServer() {
+        return referenceServer;
+    }
+}
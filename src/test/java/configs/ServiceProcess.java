@@ -0,0 +1,243 @@
+package configs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static api_tests.constants.ApiConstants.*;
+
+/**
+ * Тестируемый сервис, запущенный дочерним процессом из jar. Вывод процесса, GC-журнал и диагностика завершения
+ * пишутся в рабочий каталог; время старта считается от запуска процесса до первого HTTP-ответа {@code /endpoint}.
+ * Процесс открывает JMX без аутентификации на свободном порту loopback-интерфейса ({@link #jmxServiceUrl()}).
+ */
+public class ServiceProcess implements AutoCloseable {
+
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(50);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(15);
+    private static final int LOG_TAIL_LINES = 50;
+
+    private final Process process;
+    private final Path workDir;
+    private final Path outputLog;
+    private final Path gcLog;
+    private final long launchNanos;
+    private final long startupNanos;
+    private final long residentBytesAfterStartup;
+    private final int jmxPort;
+
+    private ServiceProcess(Process process, Path workDir, long launchNanos, long startupNanos, int jmxPort) {
+        this.process = process;
+        this.jmxPort = jmxPort;
+        this.workDir = workDir;
+        this.outputLog = workDir.resolve("service.log");
+        this.gcLog = workDir.resolve("gc.log");
+        this.launchNanos = launchNanos;
+        this.startupNanos = startupNanos;
+        this.residentBytesAfterStartup = residentBytes(process.pid());
+    }
+
+    /**
+     * Запускает {@code jar} с флагами {@code jvmOptions} и ждет, пока {@code serviceUrl} не ответит.
+     * Процесс, не ответивший за {@code startupTimeout} или завершившийся раньше, останавливается с ошибкой.
+     * Если порт сервиса уже занят, процесс не запускается: иначе на пробу ответил бы чужой сервер.
+     */
+    public static ServiceProcess start(Path jar, List<String> jvmOptions, String serviceUrl, String apiKey,
+                                       String mockUrl, Path workDir, Duration startupTimeout) {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден jar тестируемого сервиса: " + jar.toAbsolutePath());
+        }
+        int servicePort = LoaderConfig.portOf(URI.create(serviceUrl));
+        ensurePortFree(servicePort);
+        int jmxPort = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xlog:gc*:file=" + workDir.resolve("gc.log") + ":time,uptime,level,tags");
+        command.add("-XX:ErrorFile=" + workDir.resolve("hs_err_pid%p.log"));
+        command.add("-XX:+HeapDumpOnOutOfMemoryError");
+        command.add("-XX:HeapDumpPath=" + workDir);
+        command.add("-Dcom.sun.management.jmxremote.host=127.0.0.1");
+        command.add("-Dcom.sun.management.jmxremote.port=" + jmxPort);
+        command.add("-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort);
+        command.add("-Dcom.sun.management.jmxremote.authenticate=false");
+        command.add("-Dcom.sun.management.jmxremote.ssl=false");
+        command.add("-Djava.rmi.server.hostname=127.0.0.1");
+        command.addAll(jvmOptions);
+        command.add("-Dsecret=" + apiKey);
+        command.add("-Dmock=" + mockUrl);
+        command.add("-Dserver.port=" + servicePort);
+        command.add("-jar");
+        command.add(jar.toString());
+        Process process;
+        long launchNanos;
+        try {
+            Files.createDirectories(workDir);
+            Files.write(workDir.resolve("command.txt"), List.of(String.join(" ", command)), StandardCharsets.UTF_8);
+            launchNanos = System.nanoTime();
+            process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(workDir.resolve("service.log").toFile())
+                    .start();
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось запустить тестируемый сервис: %s", jar);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+        long startupNanos = awaitFirstResponse(process, serviceUrl, apiKey, launchNanos, startupTimeout, workDir);
+        return new ServiceProcess(process, workDir, launchNanos, startupNanos, jmxPort);
+    }
+
+    public long pid() {
+        return process.pid();
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    public Duration startupTime() {
+        return Duration.ofNanos(startupNanos);
+    }
+
+    /** Resident set процесса сразу после старта (Linux, /proc); -1, если недоступно. */
+    public long residentBytesAfterStartup() {
+        return residentBytesAfterStartup;
+    }
+
+    public String jmxServiceUrl() {
+        return String.format("service:jmx:rmi:///jndi/rmi://127.0.0.1:%d/jmxrmi", jmxPort);
+    }
+
+    public Path getWorkDir() {
+        return workDir;
+    }
+
+    public Path getGcLog() {
+        return gcLog;
+    }
+
+    public String startupSummary() {
+        return String.format("PID: %d%nСтарт до первого ответа /endpoint: %d мс%nRSS после старта: %s%n" +
+                        "Вывод сервиса: %s%nGC-журнал: %s%nJMX: %s%n",
+                pid(), startupTime().toMillis(), formatBytes(residentBytesAfterStartup), outputLog, gcLog,
+                jmxServiceUrl());
+    }
+
+    /** Останавливает процесс (SIGTERM, затем принудительно) и пишет диагностику завершения в exit.txt. */
+    @Override
+    public void close() {
+        boolean diedEarlier = !process.isAlive();
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly().waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        String diagnostics = String.format("Код завершения: %s%nЗавершился до остановки: %s%nВремя работы: %d с%n" +
+                        "Последние строки вывода:%n%s",
+                process.isAlive() ? "процесс не остановлен" : String.valueOf(process.exitValue()), diedEarlier,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - launchNanos), tail(outputLog));
+        try {
+            Files.writeString(workDir.resolve("exit.txt"), diagnostics, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось записать диагностику завершения сервиса в %s", workDir);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+
+    private static long awaitFirstResponse(Process process, String serviceUrl, String apiKey, long launchNanos,
+                                           Duration startupTimeout, Path workDir) {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(serviceUrl + Endpoints.BASE_ENDPOINT))
+                .timeout(PROBE_TIMEOUT)
+                .header(Headers.CONTENT_TYPE, Headers.APPLICATION_FORM_URLENCODED)
+                .header(Headers.ACCEPT, Headers.APPLICATION_JSON)
+                .header(Headers.API_KEY, apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(RequestParams.ACTION + "="))
+                .build();
+        long deadline = launchNanos + startupTimeout.toNanos();
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(PROBE_TIMEOUT).build()) {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(String.format(
+                            "Тестируемый сервис завершился при старте с кодом %d. Последние строки вывода:%n%s",
+                            process.exitValue(), tail(workDir.resolve("service.log"))));
+                }
+                try {
+                    client.send(probe, HttpResponse.BodyHandlers.discarding());
+                    long startupNanos = System.nanoTime() - launchNanos;
+                    // ответ засчитывается, только если наш процесс пережил его: иначе порт мог занять кто-то другой
+                    if (process.isAlive()) {
+                        return startupNanos;
+                    }
+                } catch (IOException ex) {
+                    Thread.sleep(PROBE_INTERVAL.toMillis());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException(String.format(
+                "Тестируемый сервис не ответил на %s за %d с. Последние строки вывода:%n%s",
+                serviceUrl, startupTimeout.toSeconds(), tail(workDir.resolve("service.log"))));
+    }
+
+    private static void ensurePortFree(int port) {
+        try {
+            new ServerSocket(port).close();
+        } catch (IOException ex) {
+            throw new IllegalStateException(String.format(
+                    "Порт %d тестируемого сервиса уже занят другим процессом: остановите его или задайте другой URL",
+                    port), ex);
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Не удалось выбрать свободный порт для JMX", ex);
+        }
+    }
+
+    private static long residentBytes(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static String tail(Path log) {
+        try {
+            List<String> lines = new String(Files.readAllBytes(log), StandardCharsets.UTF_8).lines().toList();
+            return String.join(System.lineSeparator(),
+                    lines.subList(Math.max(0, lines.size() - LOG_TAIL_LINES), lines.size()));
+        } catch (IOException ex) {
+            return "Не удалось прочитать " + log;
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes < 0 ? "недоступно" : String.format("%.1f МБ", bytes / (1024.0 * 1024));
+    }
+}
@@ -0,0 +1,76 @@
+package configs;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * При заданном {@code SERVICE_JAR} запускает тестируемый сервис дочерним процессом ({@link ServiceProcess}) на порту
+ * из URL с {@code -Dmock} на адрес WireMock. JVM-флаги задаются {@code SERVICE_JVM_OPTS}; время старта, RSS и пути
+ * к журналам пишутся в {@code target/service-<номер форка>/startup.txt}. Должен регистрироваться после
+ * {@link WireMockExtension}.
+ */
+public class ServiceProcessExtension implements BeforeAllCallback {
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private static final Path WORK_DIR = Path.of("target", "service-" + config.getForkNumber());
+    private static ServiceProcess serviceProcess;
+    // первая ошибка запуска: следующие классы тестов форка не перезапускают jar и не ждут таймаут старта заново
+    private static RuntimeException startupFailure;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        String jar = config.getStringProperty("SERVICE_JAR", "");
+        if (jar.isBlank()) {
+            return;
+        }
+        if (Boolean.parseBoolean(config.getStringProperty("REFERENCE_SERVER", "false"))) {
+            throw new IllegalStateException(
+                    "SERVICE_JAR и REFERENCE_SERVER=true заняли бы один порт: задайте одно из них");
+        }
+        synchronized (ServiceProcessExtension.class) {
+            if (startupFailure != null) {
+                throw new IllegalStateException(
+                        "Тестируемый сервис не запустился в одном из предыдущих классов тестов", startupFailure);
+            }
+            if (serviceProcess == null) {
+                try {
+                    serviceProcess = ServiceProcess.start(Path.of(jar), jvmOptions(), config.getUrl(),
+                            config.getApiKey(), WireMockExtension.getMockUrl(), WORK_DIR,
+                            Duration.ofSeconds(config.getIntProperty("SERVICE_STARTUP_TIMEOUT_SECONDS", 120)));
+                } catch (RuntimeException ex) {
+                    startupFailure = ex;
+                    throw ex;
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(serviceProcess::close));
+                writeStartupSummary(serviceProcess);
+            }
+        }
+    }
+
+    public static ServiceProcess getServiceProcess() {
+        return serviceProcess;
+    }
+
+    private static List<String> jvmOptions() {
+        String options = config.getStringProperty("SERVICE_JVM_OPTS", "").trim();
+        return options.isEmpty() ? List.of() : Arrays.asList(options.split("\\s+"));
+    }
+
+    private static void writeStartupSummary(ServiceProcess process) {
+        Path summary = WORK_DIR.resolve("startup.txt");
+        try {
+            Files.writeString(summary, process.startupSummary(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось записать сведения о запуске сервиса: %s", summary);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики срабатываний и гистограммы времени обработки по каждому стабу. Заменяют журнал запросов WireMock
+ * для проверок в длительных прогонах: память не растет с числом запросов. Каждый запрос также пишется
+ * JFR-событием {@link MockHitEvent}. Проверка числа обращений к стабам набора вместо {@code verify} по журналу -
+ * {@link #checkpoint(StubSet)}.
+ */
+public class StubHitCounters implements ServeEventListener {
+
+    public static final String NAME = "stub-hit-counters";
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int SWEEP_EVERY_EVENTS = 4096;
+    private static final long STALE_START_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<UUID, StubStats> statsByStub = new ConcurrentHashMap<>();
+    private final Map<UUID, HitStart> startsByEvent = new ConcurrentHashMap<>();
+    private final LongAdder unmatched = new LongAdder();
+    private final AtomicLong startedEvents = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void beforeMatch(ServeEvent serveEvent, Parameters parameters) {
+        MockHitEvent event = new MockHitEvent();
+        event.begin();
+        long now = System.nanoTime();
+        startsByEvent.put(serveEvent.getId(), new HitStart(now, event));
+        if (startedEvents.incrementAndGet() % SWEEP_EVERY_EVENTS == 0) {
+            // запрос, оборванный до ответа (например сбросом соединения), не доходит до afterComplete
+            startsByEvent.values().removeIf(start -> now - start.nanos() > STALE_START_NANOS);
+        }
+    }
+
+    @Override
+    public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+        HitStart start = startsByEvent.remove(serveEvent.getId());
+        StubMapping stubMapping = serveEvent.getStubMapping();
+        if (start != null) {
+            commitEvent(start.event(), serveEvent);
+        }
+        if (!serveEvent.getWasMatched() || stubMapping == null) {
+            unmatched.increment();
+            return;
+        }
+        StubStats stats = statsByStub.computeIfAbsent(stubMapping.getId(), id -> new StubStats());
+        stats.hits.increment();
+        if (start != null) {
+            stats.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start.nanos()));
+        }
+    }
+
+    public long hits(UUID stubId) {
+        StubStats stats = statsByStub.get(stubId);
+        return stats == null ? 0 : stats.hits.sum();
+    }
+
+    /** Срабатывания стаба с порядковым номером {@code index} в наборе {@code stubSet}. */
+    public long hits(StubSet stubSet, int index) {
+        return hits(StubRegistry.stubId(stubSet, index));
+    }
+
+    /** Текущие счетчики стабов набора; обращения после этого момента проверяет {@link Checkpoint#assertHits}. */
+    public Checkpoint checkpoint(StubSet stubSet) {
+        int size = stubSet.mappings().get().size();
+        long[] hitsAtStart = new long[size];
+        for (int i = 0; i < size; i++) {
+            hitsAtStart[i] = hits(stubSet, i);
+        }
+        return new Checkpoint(stubSet, hitsAtStart);
+    }
+
+    public Histogram latencyMicros(UUID stubId) {
+        StubStats stats = statsByStub.get(stubId);
+        return stats == null ? new Histogram(SIGNIFICANT_DIGITS) : stats.latencyMicros.copy();
+    }
+
+    public long totalHits() {
+        return statsByStub.values().stream().mapToLong(stats -> stats.hits.sum()).sum();
+    }
+
+    public long unmatchedCount() {
+        return unmatched.sum();
+    }
+
+    public void reset() {
+        statsByStub.clear();
+        unmatched.reset();
+    }
+
+    private static void commitEvent(MockHitEvent event, ServeEvent serveEvent) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.endpoint = serveEvent.getRequest().getUrl();
+        event.stub = serveEvent.getWasMatched() ? describe(serveEvent.getStubMapping()) : "";
+        event.status = serveEvent.getResponse() == null ? 0 : serveEvent.getResponse().getStatus();
+        ResponseDefinition response = serveEvent.getResponseDefinition();
+        Integer delay = response == null ? null : response.getFixedDelayMilliseconds();
+        event.injectedDelay = delay == null ? 0 : delay;
+        event.commit();
+    }
+
+    private static String describe(StubMapping stubMapping) {
+        if (stubMapping == null) {
+            return "";
+        }
+        if (stubMapping.getName() != null) {
+            return stubMapping.getName();
+        }
+        RequestPattern request = stubMapping.getRequest();
+        return request.getUrlMatcher() == null
+                ? request.getMethod() + " " + stubMapping.getId()
+                : request.getMethod() + " " + request.getUrlMatcher().getExpected();
+    }
+
+    /**
+     * Счетчики стабов набора на момент создания. Тесты идут параллельно с общим WireMock, поэтому проверяется
+     * нижняя граница прироста: чужие запросы могут только добавить обращений.
+     */
+    public final class Checkpoint {
+        private final StubSet stubSet;
+        private final long[] hitsAtStart;
+
+        private Checkpoint(StubSet stubSet, long[] hitsAtStart) {
+            this.stubSet = stubSet;
+            this.hitsAtStart = hitsAtStart;
+        }
+
+        public long newHits(int index) {
+            return hits(stubSet, index) - hitsAtStart[index];
+        }
+
+        public void assertHits(int index, long atLeast) {
+            long actual = newHits(index);
+            if (actual < atLeast) {
+                throw new AssertionError(String.format(
+                        "Стаб №%d набора %s: ожидалось не меньше %d обращений, получено %d",
+                        index, stubSet.id(), atLeast, actual));
+            }
+        }
+    }
+
+    private record HitStart(long nanos, MockHitEvent event) {
+    }
+
+    private static final class StubStats {
+        private final LongAdder hits = new LongAdder();
+        private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    }
+}
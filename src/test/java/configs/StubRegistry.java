@@ -0,0 +1,82 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Реестр наборов стабов: каждый именованный версионированный набор регистрируется на сервере ровно один раз.
+ * Стабы получают детерминированные id, поэтому повторная регистрация заменяет их, а не дублирует.
+ * Смена набора выполняется без окна без стабов: сначала добавляется новый набор (он приоритетнее как более поздний),
+ * затем удаляются стабы прежнего.
+ */
+public final class StubRegistry {
+
+    private static final Map<WireMockServer, InstalledSet> INSTALLED = new IdentityHashMap<>();
+
+    private StubRegistry() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void install(WireMockServer wireMockServer, StubSet stubSet) {
+        synchronized (INSTALLED) {
+            InstalledSet current = INSTALLED.get(wireMockServer);
+            if (current != null && current.stubSet().id().equals(stubSet.id())) {
+                return;
+            }
+            List<UUID> stubIds = register(wireMockServer, stubSet);
+            if (current != null) {
+                current.stubIds().forEach(wireMockServer::removeStubMapping);
+            }
+            INSTALLED.put(wireMockServer, new InstalledSet(stubSet, List.copyOf(stubIds)));
+        }
+    }
+
+    public static void reset(WireMockServer wireMockServer) {
+        synchronized (INSTALLED) {
+            InstalledSet current = INSTALLED.remove(wireMockServer);
+            if (current != null) {
+                current.stubIds().forEach(wireMockServer::removeStubMapping);
+            }
+        }
+    }
+
+    public static StubSet installed(WireMockServer wireMockServer) {
+        synchronized (INSTALLED) {
+            InstalledSet current = INSTALLED.get(wireMockServer);
+            return current == null ? null : current.stubSet();
+        }
+    }
+
+    public static List<UUID> stubIds(WireMockServer wireMockServer) {
+        synchronized (INSTALLED) {
+            InstalledSet current = INSTALLED.get(wireMockServer);
+            return current == null ? List.of() : current.stubIds();
+        }
+    }
+
+    /** Id стаба с порядковым номером {@code index} в наборе; не зависит от сервера и момента регистрации. */
+    public static UUID stubId(StubSet stubSet, int index) {
+        return UUID.nameUUIDFromBytes((stubSet.id() + "#" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<UUID> register(WireMockServer wireMockServer, StubSet stubSet) {
+        List<MappingBuilder> mappings = stubSet.mappings().get();
+        List<UUID> stubIds = new ArrayList<>(mappings.size());
+        for (int i = 0; i < mappings.size(); i++) {
+            UUID stubId = stubId(stubSet, i);
+            wireMockServer.stubFor(mappings.get(i).withId(stubId));
+            stubIds.add(stubId);
+        }
+        return stubIds;
+    }
+
+    private record InstalledSet(StubSet stubSet, List<UUID> stubIds) {
+    }
+}
@@ -0,0 +1,13 @@
+package configs;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public record StubSet(String name, int version, Supplier<List<MappingBuilder>> mappings) {
+
+    public String id() {
+        return name + ":" + version;
+    }
+}
@@ -1,11 +1,27 @@
 package configs;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import org.junit.jupiter.api.extension.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 
 public class WireMockExtension implements BeforeAllCallback, AfterAllCallback, ParameterResolver {
-    private static final int WIREMOCK_PORT = 8888;
+    private static final int DEFAULT_WIREMOCK_PORT = 8888;
+    private static final int DYNAMIC_PORT = 0;
+    private static final int DEFAULT_JOURNAL_SIZE = 1000;
+    private static final String MOCK_PROPERTY = "mock";
+    private static final Path PORT_FILES_DIR = Path.of("target", "wiremock");
+    private static final LoaderConfig config = LoaderConfig.getInstance();
+    private static final StubHitCounters hitCounters = new StubHitCounters();
+    private static final BackendLatencyTransformer backendLatency = new BackendLatencyTransformer();
+    private static final BackendFaultTransformer backendFaults = new BackendFaultTransformer();
     private static WireMockServer wireMockServer;
     private static volatile boolean serverStarted = false;
 
@@ -13,11 +29,15 @@ public class WireMockExtension implements BeforeAllCallback, AfterAllCallback, P
     public void beforeAll(ExtensionContext context) {
         synchronized (WireMockExtension.class) {
             if (!serverStarted && (wireMockServer == null || !wireMockServer.isRunning())) {
-                wireMockServer = new WireMockServer(
-                        wireMockConfig()
-                                .port(WIREMOCK_PORT)
-                );
+                int port = config.getIntProperty("WIREMOCK_PORT", DEFAULT_WIREMOCK_PORT);
+                WireMockConfiguration options = (port == DYNAMIC_PORT
+                        ? wireMockConfig().dynamicPort()
+                        : wireMockConfig().port(port + config.getForkPortOffset()))
+                        .extensions(new ActionDispatchTransformer(), hitCounters, backendLatency, backendFaults);
+                configureBackendLatency();
+                wireMockServer = new WireMockServer(configureJournal(options));
                 wireMockServer.start();
+                publishMockUrl(getMockUrl());
                 serverStarted = true;
             }
         }
@@ -38,11 +58,61 @@ public class WireMockExtension implements BeforeAllCallback, AfterAllCallback, P
         return wireMockServer;
     }
 
+    public enum JournalMode { FULL, BOUNDED, DISABLED }
+
     public static WireMockServer getWireMockServer() {
         return wireMockServer;
     }
 
-}
+    public static String getMockUrl() {
+        return String.format("http://localhost:%d/", wireMockServer.port());
+    }
 
+    public static StubHitCounters getHitCounters() {
+        return hitCounters;
+    }
+
+    public static BackendLatencyTransformer getBackendLatency() {
+        return backendLatency;
+    }
 
+    public static BackendFaultTransformer getBackendFaults() {
+        return backendFaults;
+    }
 
+    private static void configureBackendLatency() {
+        backendLatency.setProfile(WireMockConfig.AUTH_ENDPOINT,
+                LatencyProfile.parse(config.getStringProperty("AUTH_LATENCY", "none")));
+        backendLatency.setProfile(WireMockConfig.DO_ACTION_ENDPOINT,
+                LatencyProfile.parse(config.getStringProperty("DO_ACTION_LATENCY", "none")));
+    }
+
+    private static WireMockConfiguration configureJournal(WireMockConfiguration options) {
+        String mode = config.getStringProperty("WIREMOCK_JOURNAL", JournalMode.FULL.name());
+        JournalMode journalMode;
+        try {
+            journalMode = JournalMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            String errorMsg = String.format("Неизвестный режим журнала WireMock: %s", mode);
+            throw new IllegalStateException(errorMsg, ex);
+        }
+        return switch (journalMode) {
+            case FULL -> options;
+            case BOUNDED -> options.maxRequestJournalEntries(
+                    config.getIntProperty("WIREMOCK_JOURNAL_SIZE", DEFAULT_JOURNAL_SIZE));
+            case DISABLED -> options.disableRequestJournal();
+        };
+    }
+
+    private static void publishMockUrl(String mockUrl) {
+        System.setProperty(MOCK_PROPERTY, mockUrl);
+        Path portFile = PORT_FILES_DIR.resolve("fork-" + config.getForkNumber() + ".properties");
+        try {
+            Files.createDirectories(PORT_FILES_DIR);
+            Files.writeString(portFile, MOCK_PROPERTY + "=" + mockUrl + System.lineSeparator(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            String errorMsg = String.format("Не удалось записать адрес WireMock в файл: %s", portFile);
+            throw new UncheckedIOException(errorMsg, ex);
+        }
+    }
+}